@@ -0,0 +1,70 @@
+/*
+ * Compares the query parameter serialization of services generated with and without `bufferedQueryParams`,
+ * for every `queryParamObjectFormat`. See README.md of the benchmarks module for how to generate the services.
+ *
+ * Run with: npx ts-node --compiler-options '{"experimentalDecorators":true}' benchmark.ts
+ */
+import { HttpClient, HttpParams } from '@angular/common/http';
+import { EMPTY } from 'rxjs';
+
+import { ItemsService as DotCurrent } from './out/dot-current';
+import { ItemsService as DotBuffered } from './out/dot-buffered';
+import { ItemsService as JsonCurrent } from './out/json-current';
+import { ItemsService as JsonBuffered } from './out/json-buffered';
+import { ItemsService as KeyCurrent } from './out/key-current';
+import { ItemsService as KeyBuffered } from './out/key-buffered';
+
+const ITERATIONS = 50000;
+
+let queryString = '';
+const httpClient = {
+    request: (method: string, url: string, options: { params: HttpParams }) => {
+        queryString = options.params.toString();
+        return EMPTY;
+    }
+} as unknown as HttpClient;
+
+const request: any = {
+    ids1: [1, 2, 3, 4, 5, 6, 7, 8],
+    ids2: [9, 10, 11],
+    ids3: [12],
+    ids4: [13, 14],
+    tags1: ['red', 'green', 'blue'],
+    tags2: ['small'],
+    range: { from: 10, to: 20, unit: 'cm' },
+    sort: { field: 'name', direction: 'asc', then: { field: 'id', direction: 'desc' } },
+};
+for (let i = 1; i <= 24; i++) {
+    request['filter' + i] = 'value ' + i;
+}
+
+function measure(name: string, service: any): string {
+    for (let i = 0; i < ITERATIONS / 10; i++) {
+        service.listItems(request);
+    }
+    const heapBefore = process.memoryUsage().heapUsed;
+    const start = process.hrtime.bigint();
+    for (let i = 0; i < ITERATIONS; i++) {
+        service.listItems(request);
+    }
+    const nanos = Number(process.hrtime.bigint() - start);
+    const heapGrowth = process.memoryUsage().heapUsed - heapBefore;
+    console.log(`${name.padEnd(14)} ${Math.round(ITERATIONS / (nanos / 1e9)).toString().padStart(10)} requests/s`
+        + `  ${(nanos / ITERATIONS / 1000).toFixed(2).padStart(8)} us/request`
+        + `  heap growth ${(heapGrowth / 1024 / 1024).toFixed(1)} MB`);
+    return queryString;
+}
+
+const pairs: [string, any, any][] = [
+    ['dot', DotCurrent, DotBuffered],
+    ['json', JsonCurrent, JsonBuffered],
+    ['key', KeyCurrent, KeyBuffered],
+];
+for (const [format, Current, Buffered] of pairs) {
+    const current = measure(format + ' current', new Current(httpClient, 'http://localhost/api', undefined as any));
+    const buffered = measure(format + ' buffered', new Buffered(httpClient, 'http://localhost/api', undefined as any));
+    if (current !== buffered) {
+        console.error(`${format}: the query strings differ\n  current:  ${current}\n  buffered: ${buffered}`);
+        process.exitCode = 1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.my.company.customgenerator.benchmarks;
+
+import com.my.company.customgenerator.CustomAngularGenerator;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationsMap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link CustomAngularGenerator} that remembers the inputs of its post-processing phases during one
+ * generation run, so the phases can be replayed in isolation afterwards.
+ *
+ * It is loaded by class name through {@link org.openapitools.codegen.config.CodegenConfigurator#setGeneratorName(String)}
+ * and therefore needs to stay public with a public no-arg constructor.
+ */
+public class CapturingAngularGenerator extends CustomAngularGenerator {
+
+  private boolean capturing = true;
+
+  private final List<OperationsMap> capturedOperations = new ArrayList<>();
+  private final List<List<String>> capturedPaths = new ArrayList<>();
+  private List<ModelMap> capturedAllModels = new ArrayList<>();
+  private Map<String, ModelsMap> capturedModels = new LinkedHashMap<>();
+
+  @Override
+  public OperationsMap postProcessOperationsWithModels(OperationsMap operations, List<ModelMap> allModels) {
+    if (capturing) {
+      // the path is rewritten into a template string, keep the original so the phase can be replayed
+      List<String> paths = new ArrayList<>();
+      for (CodegenOperation op : operations.getOperations().getOperation()) {
+        paths.add(op.path);
+      }
+      capturedOperations.add(operations);
+      capturedPaths.add(paths);
+      capturedAllModels = allModels;
+    }
+    return super.postProcessOperationsWithModels(operations, allModels);
+  }
+
+  @Override
+  public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+    if (capturing) {
+      capturedModels = new LinkedHashMap<>(objs);
+    }
+    return super.postProcessAllModels(objs);
+  }
+
+  /**
+   * Stops recording; replayed phases must not add to the captured inputs.
+   */
+  public void stopCapturing() {
+    capturing = false;
+  }
+
+  /**
+   * Puts the original (un-rewritten) paths back onto the captured operations.
+   */
+  public void restoreOperationPaths() {
+    for (int i = 0; i < capturedOperations.size(); i++) {
+      List<CodegenOperation> ops = capturedOperations.get(i).getOperations().getOperation();
+      List<String> paths = capturedPaths.get(i);
+      for (int j = 0; j < ops.size(); j++) {
+        ops.get(j).path = paths.get(j);
+      }
+    }
+  }
+
+  public List<OperationsMap> getCapturedOperations() {
+    return capturedOperations;
+  }
+
+  public List<ModelMap> getCapturedAllModels() {
+    return capturedAllModels;
+  }
+
+  public Map<String, ModelsMap> getCapturedModels() {
+    return capturedModels;
+  }
+}
@@ -0,0 +1,53 @@
+package com.my.company.customgenerator.benchmarks;
+
+import org.openapitools.codegen.DefaultGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a complete run as the CLI does it: parse the spec through {@link org.openapitools.codegen.config.CodegenConfigurator}
+ * and generate every file with {@link DefaultGenerator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class EndToEndGenerationBenchmark {
+
+  private GenerationFixture fixture;
+  private Path outputDir;
+
+  @Setup(Level.Trial)
+  public void setUp(SpecState spec) throws IOException {
+    fixture = GenerationFixture.record(spec.newSpec(), spec.additionalProperties());
+    outputDir = fixture.getWorkDir().resolve("end-to-end");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  public List<File> generate() {
+    return new DefaultGenerator().opts(fixture.newConfigurator(outputDir).toClientOptInput()).generate();
+  }
+}
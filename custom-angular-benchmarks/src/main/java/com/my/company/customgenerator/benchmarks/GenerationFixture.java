@@ -0,0 +1,213 @@
+package com.my.company.customgenerator.benchmarks;
+
+import com.my.company.customgenerator.CustomAngularGenerator;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.Generator;
+import org.openapitools.codegen.TemplateManager;
+import org.openapitools.codegen.api.TemplatePathLocator;
+import org.openapitools.codegen.api.TemplateProcessor;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationsMap;
+import org.openapitools.codegen.templating.CommonTemplateContentLocator;
+import org.openapitools.codegen.templating.GeneratorTemplateContentLocator;
+import org.openapitools.codegen.templating.TemplateManagerOptions;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Runs one complete generation for a synthetic spec and keeps what every phase received, so that
+ * the phases can be measured one by one:
+ * <ul>
+ *   <li><code>processOpts</code> on a fresh generator with the same additional properties,</li>
+ *   <li><code>postProcessOperationsWithModels</code> on every captured tag,</li>
+ *   <li><code>postProcessAllModels</code> on the captured model map,</li>
+ *   <li>template rendering of every captured template/bundle pair, without I/O,</li>
+ *   <li>file writing of the rendered output.</li>
+ * </ul>
+ */
+public class GenerationFixture implements Closeable {
+
+  private final Path workDir;
+  private final Path specFile;
+  private final Map<String, Object> properties;
+
+  private CapturingAngularGenerator config;
+  private Map<String, Object> initialAdditionalProperties;
+  private TemplateManager templateManager;
+  private TemplatingEngineAdapter templatingEngine;
+  private final List<TemplateWrite> templateWrites = new ArrayList<>();
+  private final List<byte[]> renderedTemplates = new ArrayList<>();
+
+  private GenerationFixture(Path workDir, Path specFile, Map<String, Object> properties) {
+    this.workDir = workDir;
+    this.specFile = specFile;
+    this.properties = properties;
+  }
+
+  /**
+   * Writes the spec into a fresh working directory and runs one recorded generation.
+   *
+   * @param spec       the synthetic spec to generate from
+   * @param properties additional properties passed to the generator
+   * @return the recorded fixture
+   * @throws IOException if the working directory cannot be prepared
+   */
+  public static GenerationFixture record(SyntheticSpec spec, Map<String, Object> properties) throws IOException {
+    Path workDir = Files.createTempDirectory("custom-angular-bench");
+    Path specFile = spec.writeTo(workDir.resolve("spec.yaml"));
+    GenerationFixture fixture = new GenerationFixture(workDir, specFile, properties);
+    fixture.recordGeneration();
+    return fixture;
+  }
+
+  /**
+   * Creates a configurator for the <code>custom-angular</code> generator pointing at the fixture spec.
+   *
+   * @param outputDir the output directory
+   * @return the configurator
+   */
+  public CodegenConfigurator newConfigurator(Path outputDir) {
+    return newConfigurator(new CustomAngularGenerator().getName(), outputDir);
+  }
+
+  private CodegenConfigurator newConfigurator(String generatorName, Path outputDir) {
+    CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName(generatorName)
+            .setInputSpec(specFile.toString())
+            .setOutputDir(outputDir.toString());
+    for (Map.Entry<String, Object> property : properties.entrySet()) {
+      configurator.addAdditionalProperty(property.getKey(), property.getValue());
+    }
+    return configurator;
+  }
+
+  public Path getWorkDir() {
+    return workDir;
+  }
+
+  public CodegenConfig processOpts() {
+    CustomAngularGenerator generator = new CustomAngularGenerator();
+    generator.additionalProperties().putAll(initialAdditionalProperties);
+    generator.processOpts();
+    return generator;
+  }
+
+  public List<OperationsMap> postProcessOperationsWithModels() {
+    config.restoreOperationPaths();
+    List<OperationsMap> result = new ArrayList<>();
+    for (OperationsMap operations : config.getCapturedOperations()) {
+      result.add(config.postProcessOperationsWithModels(operations, config.getCapturedAllModels()));
+    }
+    return result;
+  }
+
+  public Map<String, ModelsMap> postProcessAllModels() {
+    return config.postProcessAllModels(config.getCapturedModels());
+  }
+
+  public long renderTemplates() throws IOException {
+    long chars = 0;
+    for (TemplateWrite write : templateWrites) {
+      if (templatingEngine.handlesFile(write.templateName)) {
+        chars += templatingEngine.compileTemplate(templateManager, write.data, write.templateName).length();
+      }
+    }
+    return chars;
+  }
+
+  public int writeFiles() throws IOException {
+    for (int i = 0; i < templateWrites.size(); i++) {
+      templateManager.writeToFile(templateWrites.get(i).target.getPath(), renderedTemplates.get(i));
+    }
+    return templateWrites.size();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (Stream<Path> paths = Files.walk(workDir)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  private void recordGeneration() throws IOException {
+    ClientOptInput input = newConfigurator(CapturingAngularGenerator.class.getName(), workDir.resolve("recorded"))
+            .toClientOptInput();
+    config = (CapturingAngularGenerator) input.getConfig();
+    initialAdditionalProperties = new HashMap<>(config.additionalProperties());
+
+    new RecordingGenerator().opts(input).generate();
+    config.stopCapturing();
+
+    templatingEngine = config.getTemplatingEngine();
+    templateManager = new TemplateManager(
+            new TemplateManagerOptions(false, false),
+            templatingEngine,
+            new TemplatePathLocator[]{new GeneratorTemplateContentLocator(config), new CommonTemplateContentLocator()});
+    for (TemplateWrite write : templateWrites) {
+      renderedTemplates.add(Files.readAllBytes(write.target.toPath()));
+    }
+  }
+
+  private static final class TemplateWrite {
+    private final Map<String, Object> data;
+    private final String templateName;
+    private final File target;
+
+    private TemplateWrite(Map<String, Object> data, String templateName, File target) {
+      this.data = data;
+      this.templateName = templateName;
+      this.target = target;
+    }
+  }
+
+  /**
+   * {@link DefaultGenerator} that remembers every template it writes.
+   */
+  private final class RecordingGenerator extends DefaultGenerator {
+    @Override
+    public Generator opts(ClientOptInput opts) {
+      super.opts(opts);
+      final TemplateProcessor delegate = this.templateProcessor;
+      this.templateProcessor = new TemplateProcessor() {
+        @Override
+        public File write(Map<String, Object> data, String template, File target) throws IOException {
+          File written = delegate.write(data, template, target);
+          if (written != null) {
+            templateWrites.add(new TemplateWrite(data, template, written));
+          }
+          return written;
+        }
+
+        @Override
+        public File writeToFile(String filename, byte[] contents) throws IOException {
+          return delegate.writeToFile(filename, contents);
+        }
+
+        @Override
+        public void ignore(Path path, String context) {
+          delegate.ignore(path, context);
+        }
+
+        @Override
+        public void skip(Path path, String context) {
+          delegate.skip(path, context);
+        }
+      };
+      return this;
+    }
+  }
+}
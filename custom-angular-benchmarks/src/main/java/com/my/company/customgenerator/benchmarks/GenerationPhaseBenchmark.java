@@ -0,0 +1,72 @@
+package com.my.company.customgenerator.benchmarks;
+
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationsMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generation phases one at a time against inputs captured from a real generation run.
+ * One operation is one pass of the phase over the whole spec (all tags, all models, all templates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class GenerationPhaseBenchmark {
+
+  private GenerationFixture fixture;
+
+  @Setup(Level.Trial)
+  public void setUp(SpecState spec) throws IOException {
+    fixture = GenerationFixture.record(spec.newSpec(), spec.additionalProperties());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    fixture.close();
+  }
+
+  @Benchmark
+  public CodegenConfig processOpts() {
+    return fixture.processOpts();
+  }
+
+  @Benchmark
+  public List<OperationsMap> postProcessOperationsWithModels() {
+    return fixture.postProcessOperationsWithModels();
+  }
+
+  @Benchmark
+  public Map<String, ModelsMap> postProcessAllModels() {
+    return fixture.postProcessAllModels();
+  }
+
+  @Benchmark
+  public long renderTemplates() throws IOException {
+    return fixture.renderTemplates();
+  }
+
+  @Benchmark
+  public int writeFiles() throws IOException {
+    return fixture.writeFiles();
+  }
+}
@@ -0,0 +1,45 @@
+package com.my.company.customgenerator.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Size of the synthetic spec and the generator options shared by all benchmarks.
+ * Override on the command line, e.g. <code>-p operations=4000 -p schemas=2500</code>.
+ */
+@State(Scope.Benchmark)
+public class SpecState {
+
+  @Param("500")
+  public int operations;
+
+  @Param("300")
+  public int schemas;
+
+  @Param("2")
+  public int discriminatorDepth;
+
+  @Param("4")
+  public int oneOfFanOut;
+
+  @Param("25")
+  public int operationsPerTag;
+
+  @Param("true")
+  public boolean taggedUnions;
+
+  public SyntheticSpec newSpec() {
+    return new SyntheticSpec(operations, schemas, discriminatorDepth, oneOfFanOut, operationsPerTag);
+  }
+
+  public Map<String, Object> additionalProperties() {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("taggedUnions", String.valueOf(taggedUnions));
+    properties.put("withInterfaces", "true");
+    return properties;
+  }
+}
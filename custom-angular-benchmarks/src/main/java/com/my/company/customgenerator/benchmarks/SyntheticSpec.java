@@ -0,0 +1,326 @@
+package com.my.company.customgenerator.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Builds a synthetic OpenAPI 3 document of configurable size.
+ *
+ * The document is made of three kinds of schemas:
+ * <ul>
+ *   <li>plain entities with scalars, enums, arrays and references to other entities,</li>
+ *   <li>discriminated families, an inheritance chain of <code>discriminatorDepth</code> levels below a root
+ *   that carries the discriminator (two siblings per level),</li>
+ *   <li>unions, each a <code>oneOf</code> over <code>oneOfFanOut</code> entities.</li>
+ * </ul>
+ * Operations are spread over tags of <code>operationsPerTag</code> operations each and cycle through
+ * list/get/create/update/delete shapes so that query, path, header and body parameters are all exercised.
+ */
+public class SyntheticSpec {
+
+  private final int operations;
+  private final int schemas;
+  private final int discriminatorDepth;
+  private final int oneOfFanOut;
+  private final int operationsPerTag;
+
+  private int entityCount;
+  private int familyCount;
+  private int unionCount;
+
+  public SyntheticSpec(int operations, int schemas, int discriminatorDepth, int oneOfFanOut, int operationsPerTag) {
+    if (operations < 1 || schemas < 1 || operationsPerTag < 1) {
+      throw new IllegalArgumentException("operations, schemas and operationsPerTag must be positive");
+    }
+    if (discriminatorDepth < 0 || oneOfFanOut < 0) {
+      throw new IllegalArgumentException("discriminatorDepth and oneOfFanOut must not be negative");
+    }
+    this.operations = operations;
+    this.schemas = schemas;
+    this.discriminatorDepth = discriminatorDepth;
+    this.oneOfFanOut = oneOfFanOut;
+    this.operationsPerTag = operationsPerTag;
+    distributeSchemas();
+  }
+
+  /**
+   * Writes the document as YAML to the given file.
+   *
+   * @param target the file to write
+   * @return the written file
+   * @throws IOException if the file cannot be written
+   */
+  public Path writeTo(Path target) throws IOException {
+    Files.write(target, toYaml().getBytes(StandardCharsets.UTF_8));
+    return target;
+  }
+
+  public String toYaml() {
+    StringBuilder sb = new StringBuilder(256 * (operations + schemas));
+    sb.append("openapi: 3.0.1\n");
+    sb.append("info:\n");
+    sb.append("  title: Synthetic benchmark API\n");
+    sb.append("  version: 1.0.0\n");
+    sb.append("servers:\n");
+    sb.append("  - url: http://localhost/api\n");
+    sb.append("paths:\n");
+    for (int i = 0; i < operations; i++) {
+      appendOperation(sb, i);
+    }
+    sb.append("components:\n");
+    sb.append("  securitySchemes:\n");
+    sb.append("    bearer:\n");
+    sb.append("      type: http\n");
+    sb.append("      scheme: bearer\n");
+    sb.append("  schemas:\n");
+    for (int e = 0; e < entityCount; e++) {
+      appendEntity(sb, e);
+    }
+    for (int f = 0; f < familyCount; f++) {
+      appendFamily(sb, f);
+    }
+    for (int u = 0; u < unionCount; u++) {
+      appendUnion(sb, u);
+    }
+    sb.append("security:\n");
+    sb.append("  - bearer: []\n");
+    return sb.toString();
+  }
+
+  public int getEntityCount() {
+    return entityCount;
+  }
+
+  public int getFamilyCount() {
+    return familyCount;
+  }
+
+  public int getUnionCount() {
+    return unionCount;
+  }
+
+  private void distributeSchemas() {
+    int familySize = 1 + 2 * discriminatorDepth;
+    familyCount = discriminatorDepth > 0 ? Math.max(1, (schemas / 5) / familySize) : 0;
+    unionCount = oneOfFanOut > 1 ? Math.max(1, schemas / 10) : 0;
+    entityCount = Math.max(Math.max(1, oneOfFanOut), schemas - familyCount * familySize - unionCount);
+  }
+
+  private void appendOperation(StringBuilder sb, int i) {
+    int tag = i / operationsPerTag;
+    String entity = entityName(i % entityCount);
+    String body = familyCount > 0 && i % 2 == 0 ? familyRootName(i % familyCount) : entity;
+    String path = "/t" + tag + "/r" + i;
+    switch (i % 5) {
+      case 0:
+        sb.append("  ").append(path).append(":\n");
+        sb.append("    get:\n");
+        appendOperationHeader(sb, tag, "list", i);
+        sb.append("      parameters:\n");
+        appendQueryParameter(sb, "cursor", "type: string");
+        appendQueryParameter(sb, "limit", "type: integer\n            format: int32");
+        appendQueryParameter(sb, "since", "type: string\n            format: date-time");
+        sb.append("        - name: status\n");
+        sb.append("          in: query\n");
+        sb.append("          schema:\n");
+        sb.append("            type: array\n");
+        sb.append("            items:\n");
+        sb.append("              type: string\n");
+        sb.append("        - name: filter\n");
+        sb.append("          in: query\n");
+        sb.append("          schema:\n");
+        sb.append("            $ref: '#/components/schemas/").append(entity).append("'\n");
+        sb.append("      responses:\n");
+        sb.append("        '200':\n");
+        sb.append("          description: ok\n");
+        sb.append("          content:\n");
+        sb.append("            application/json:\n");
+        sb.append("              schema:\n");
+        sb.append("                type: array\n");
+        sb.append("                items:\n");
+        sb.append("                  $ref: '#/components/schemas/").append(entity).append("'\n");
+        break;
+      case 1:
+        sb.append("  ").append(path).append("/{id}:\n");
+        sb.append("    get:\n");
+        appendOperationHeader(sb, tag, "get", i);
+        sb.append("      parameters:\n");
+        appendPathParameter(sb);
+        sb.append("        - name: X-Request-Id\n");
+        sb.append("          in: header\n");
+        sb.append("          schema:\n");
+        sb.append("            type: string\n");
+        appendJsonResponse(sb, "'200'", entity);
+        break;
+      case 2:
+        sb.append("  ").append(path).append(":\n");
+        sb.append("    post:\n");
+        appendOperationHeader(sb, tag, "create", i);
+        appendJsonRequestBody(sb, body);
+        appendJsonResponse(sb, "'201'", body);
+        break;
+      case 3:
+        sb.append("  ").append(path).append("/{id}:\n");
+        sb.append("    put:\n");
+        appendOperationHeader(sb, tag, "update", i);
+        sb.append("      parameters:\n");
+        appendPathParameter(sb);
+        appendJsonRequestBody(sb, body);
+        appendJsonResponse(sb, "'200'", body);
+        break;
+      default:
+        sb.append("  ").append(path).append("/{id}:\n");
+        sb.append("    delete:\n");
+        appendOperationHeader(sb, tag, "delete", i);
+        sb.append("      parameters:\n");
+        appendPathParameter(sb);
+        sb.append("      responses:\n");
+        sb.append("        '204':\n");
+        sb.append("          description: deleted\n");
+        break;
+    }
+  }
+
+  private void appendOperationHeader(StringBuilder sb, int tag, String verb, int i) {
+    sb.append("      tags:\n");
+    sb.append("        - Tag").append(tag).append('\n');
+    sb.append("      operationId: ").append(verb).append("Resource").append(i).append('\n');
+    sb.append("      summary: ").append(verb).append(" resource ").append(i).append('\n');
+  }
+
+  private void appendQueryParameter(StringBuilder sb, String name, String schema) {
+    sb.append("        - name: ").append(name).append('\n');
+    sb.append("          in: query\n");
+    sb.append("          schema:\n");
+    sb.append("            ").append(schema).append('\n');
+  }
+
+  private void appendPathParameter(StringBuilder sb) {
+    sb.append("        - name: id\n");
+    sb.append("          in: path\n");
+    sb.append("          required: true\n");
+    sb.append("          schema:\n");
+    sb.append("            type: integer\n");
+    sb.append("            format: int64\n");
+  }
+
+  private void appendJsonRequestBody(StringBuilder sb, String schema) {
+    sb.append("      requestBody:\n");
+    sb.append("        required: true\n");
+    sb.append("        content:\n");
+    sb.append("          application/json:\n");
+    sb.append("            schema:\n");
+    sb.append("              $ref: '#/components/schemas/").append(schema).append("'\n");
+  }
+
+  private void appendJsonResponse(StringBuilder sb, String status, String schema) {
+    sb.append("      responses:\n");
+    sb.append("        ").append(status).append(":\n");
+    sb.append("          description: ok\n");
+    sb.append("          content:\n");
+    sb.append("            application/json:\n");
+    sb.append("              schema:\n");
+    sb.append("                $ref: '#/components/schemas/").append(schema).append("'\n");
+  }
+
+  private void appendEntity(StringBuilder sb, int e) {
+    sb.append("    ").append(entityName(e)).append(":\n");
+    sb.append("      type: object\n");
+    sb.append("      required:\n");
+    sb.append("        - id\n");
+    sb.append("      properties:\n");
+    sb.append("        id:\n");
+    sb.append("          type: integer\n");
+    sb.append("          format: int64\n");
+    sb.append("        name:\n");
+    sb.append("          type: string\n");
+    sb.append("        createdAt:\n");
+    sb.append("          type: string\n");
+    sb.append("          format: date-time\n");
+    sb.append("        status:\n");
+    sb.append("          type: string\n");
+    sb.append("          enum: [active, archived, deleted]\n");
+    sb.append("        labels:\n");
+    sb.append("          type: array\n");
+    sb.append("          items:\n");
+    sb.append("            type: string\n");
+    if (e > 0) {
+      sb.append("        previous:\n");
+      sb.append("          $ref: '#/components/schemas/").append(entityName(e - 1)).append("'\n");
+    }
+    if (familyCount > 0) {
+      sb.append("        shape:\n");
+      sb.append("          $ref: '#/components/schemas/").append(familyRootName(e % familyCount)).append("'\n");
+    }
+    if (unionCount > 0 && e % 3 == 0) {
+      sb.append("        choice:\n");
+      sb.append("          $ref: '#/components/schemas/").append(unionName(e % unionCount)).append("'\n");
+    }
+  }
+
+  private void appendFamily(StringBuilder sb, int f) {
+    String root = familyRootName(f);
+    sb.append("    ").append(root).append(":\n");
+    sb.append("      type: object\n");
+    sb.append("      required:\n");
+    sb.append("        - kind\n");
+    sb.append("      discriminator:\n");
+    sb.append("        propertyName: kind\n");
+    sb.append("        mapping:\n");
+    for (int level = 1; level <= discriminatorDepth; level++) {
+      for (char side = 'A'; side <= 'B'; side++) {
+        String child = familyMemberName(f, level, side);
+        sb.append("          ").append(child.toLowerCase(Locale.ROOT)).append(": '#/components/schemas/").append(child).append("'\n");
+      }
+    }
+    sb.append("      properties:\n");
+    sb.append("        kind:\n");
+    sb.append("          type: string\n");
+    sb.append("        label:\n");
+    sb.append("          type: string\n");
+
+    String parent = root;
+    for (int level = 1; level <= discriminatorDepth; level++) {
+      for (char side = 'A'; side <= 'B'; side++) {
+        sb.append("    ").append(familyMemberName(f, level, side)).append(":\n");
+        sb.append("      allOf:\n");
+        sb.append("        - $ref: '#/components/schemas/").append(parent).append("'\n");
+        sb.append("        - type: object\n");
+        sb.append("          properties:\n");
+        sb.append("            level").append(level).append(side).append(":\n");
+        sb.append("              type: number\n");
+        sb.append("              format: double\n");
+        sb.append("            owner").append(level).append(side).append(":\n");
+        sb.append("              $ref: '#/components/schemas/").append(entityName((f + level) % entityCount)).append("'\n");
+      }
+      parent = familyMemberName(f, level, 'A');
+    }
+  }
+
+  private void appendUnion(StringBuilder sb, int u) {
+    sb.append("    ").append(unionName(u)).append(":\n");
+    sb.append("      oneOf:\n");
+    for (int k = 0; k < oneOfFanOut; k++) {
+      sb.append("        - $ref: '#/components/schemas/").append(entityName((u * oneOfFanOut + k) % entityCount)).append("'\n");
+    }
+  }
+
+  private static String entityName(int e) {
+    return "Entity" + e;
+  }
+
+  private static String familyRootName(int f) {
+    return "Shape" + f;
+  }
+
+  private static String familyMemberName(int f, int level, char side) {
+    return "Shape" + f + "Level" + level + side;
+  }
+
+  private static String unionName(int u) {
+    return "Choice" + u;
+  }
+}
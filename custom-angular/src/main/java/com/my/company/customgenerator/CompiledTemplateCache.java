@@ -0,0 +1,190 @@
+package com.my.company.customgenerator;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import org.openapitools.codegen.TemplateManager;
+import org.openapitools.codegen.TemplateNotFoundException;
+import org.openapitools.codegen.api.TemplatingExecutor;
+
+import java.io.File;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Process-wide cache of compiled mustache templates, shared by all generator runs of a JVM (e.g. a Gradle daemon).
+ *
+ * A template is cached under its resolved path, together with the location of the template and of every partial
+ * it includes. Embedded templates are read from the classpath and never change; templates from a template directory
+ * are stamped with their modification time and size. As long as none of them changed, a lookup neither reads nor
+ * parses any template. Compiled templates are shared by content hash, so identical copies are compiled once.
+ */
+public class CompiledTemplateCache {
+  private static final Pattern PARTIAL_PATTERN = Pattern.compile("\\{\\{>\\s*([^}\\s]+)\\s*}}");
+
+  private final Map<String, CachedTemplate> entries = new ConcurrentHashMap<>();
+  private final Map<String, Template> compiled = new ConcurrentHashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  CompiledTemplateCache() {
+  }
+
+  /**
+   * Returns the compiled template, reading and compiling it and its partials only if one of them changed.
+   *
+   * @param executor     resolves and reads the templates
+   * @param templateFile the template
+   * @param scope        identifies the compiler settings, e.g. the generator class
+   * @param compiler     the compiler used on a miss
+   * @param extensions   the extensions partials are looked up with
+   * @return the compiled template
+   */
+  CachedTemplate get(TemplatingExecutor executor, String templateFile, String scope,
+                     Mustache.Compiler compiler, String[] extensions) {
+    String location = location(executor, templateFile);
+    String key = scope + "|" + location;
+    CachedTemplate cached = entries.get(key);
+    if (cached != null && cached.isUpToDate(executor)) {
+      hits.incrementAndGet();
+      return cached;
+    }
+    misses.incrementAndGet();
+
+    Map<String, String> contents = new LinkedHashMap<>();
+    Map<String, String> stamps = new LinkedHashMap<>();
+    read(executor, templateFile, extensions, contents, stamps);
+    StringBuilder hashed = new StringBuilder();
+    for (Map.Entry<String, String> content : contents.entrySet()) {
+      hashed.append(content.getKey()).append('\n').append(content.getValue()).append('\n');
+    }
+    String contentHash = IncrementalGenerationManifest.sha256(hashed.toString());
+
+    Template template = compiled.computeIfAbsent(scope + "|" + contentHash, name -> compiler
+            .withLoader(partial -> {
+              for (String extension : extensions) {
+                String content = contents.get(partial + "." + extension);
+                if (content != null) {
+                  return new StringReader(content);
+                }
+              }
+              throw new TemplateNotFoundException(partial);
+            })
+            .defaultValue("")
+            .compile(contents.get(templateFile)));
+    cached = new CachedTemplate(template, contentHash, stamps);
+    if (stamps.get(templateFile) != null) {
+      entries.put(key, cached);
+    }
+    return cached;
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * @return the number of cached templates
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Drops all compiled templates and resets the counters.
+   */
+  public void clear() {
+    entries.clear();
+    compiled.clear();
+    hits.set(0);
+    misses.set(0);
+  }
+
+  private static void read(TemplatingExecutor executor, String templateFile, String[] extensions,
+                           Map<String, String> contents, Map<String, String> stamps) {
+    if (stamps.containsKey(templateFile)) {
+      return;
+    }
+    stamps.put(templateFile, stamp(executor, templateFile));
+    String template = executor.getFullTemplateContents(templateFile);
+    contents.put(templateFile, template);
+    Matcher partials = PARTIAL_PATTERN.matcher(template);
+    while (partials.find()) {
+      for (String extension : extensions) {
+        String partial = partials.group(1) + "." + extension;
+        try {
+          read(executor, partial, extensions, contents, stamps);
+        } catch (TemplateNotFoundException e) {
+          // only fails the rendering if the partial is actually reached, as with the default engine
+          stamps.put(partial, null);
+        }
+      }
+    }
+  }
+
+  private static String location(TemplatingExecutor executor, String templateFile) {
+    try {
+      return executor.getFullTemplatePath(templateFile).toString().replace(File.separatorChar, '/');
+    } catch (TemplateNotFoundException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Identifies the current version of a template without reading it, <code>null</code> if it cannot be identified.
+   */
+  private static String stamp(TemplatingExecutor executor, String templateFile) {
+    String location = location(executor, templateFile);
+    if (location == null) {
+      return null;
+    }
+    // the template manager prefers the classpath, which does not change while the JVM runs
+    if (TemplateManager.class.getClassLoader().getResource(location) != null) {
+      return "classpath:" + location;
+    }
+    File file = new File(location);
+    return file.isFile() ? location + "@" + file.lastModified() + ":" + file.length() : null;
+  }
+
+  /**
+   * A compiled template and the hash of its contents, partials included.
+   */
+  static final class CachedTemplate {
+    private final Template template;
+    private final String contentHash;
+    private final Map<String, String> stamps;
+
+    private CachedTemplate(Template template, String contentHash, Map<String, String> stamps) {
+      this.template = template;
+      this.contentHash = contentHash;
+      this.stamps = Collections.unmodifiableMap(stamps);
+    }
+
+    Template getTemplate() {
+      return template;
+    }
+
+    String getContentHash() {
+      return contentHash;
+    }
+
+    private boolean isUpToDate(TemplatingExecutor executor) {
+      for (Map.Entry<String, String> stamp : stamps.entrySet()) {
+        if (!Objects.equals(stamp.getValue(), stamp(executor, stamp.getKey()))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -1,13 +1,22 @@
 package com.my.company.customgenerator;
 
+import com.samskivert.mustache.Mustache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.Schema;
 import org.openapitools.codegen.*;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.ignore.CodegenIgnoreProcessor;
 import org.openapitools.codegen.languages.AbstractTypeScriptClientCodegen;
 import org.openapitools.codegen.meta.features.DocumentationFeature;
 import org.openapitools.codegen.meta.features.GlobalFeature;
 import org.openapitools.codegen.meta.features.SecurityFeature;
 import org.openapitools.codegen.model.*;
 import io.swagger.models.properties.*;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+import org.openapitools.codegen.utils.ImplementationVersion;
 import org.openapitools.codegen.utils.ModelUtils;
 import org.openapitools.codegen.utils.SemVer;
 import org.slf4j.Logger;
@@ -15,6 +24,13 @@ import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -55,6 +71,99 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
   public static final String STRING_ENUMS = "stringEnums";
   public static final String STRING_ENUMS_DESC = "Generate string enums instead of objects for enum values.";
   public static final String QUERY_PARAM_OBJECT_FORMAT = "queryParamObjectFormat";
+  public static final String BUFFERED_QUERY_PARAMS = "bufferedQueryParams";
+  public static final String INCREMENTAL_GENERATION = "incrementalGeneration";
+  public static final String GENERATOR_THREADS = "generatorThreads";
+  public static final String LOW_MEMORY_GENERATION = "lowMemoryGeneration";
+  public static final String GENERATION_METRICS = "generationMetrics";
+  public static final String GENERATION_METRICS_FILENAME = "generation-metrics.json";
+  public static final String COALESCE_REQUESTS = "coalesceRequests";
+  public static final String X_COALESCE_REQUEST = "x-coalesce-request";
+  public static final String RESPONSE_CACHE = "responseCache";
+  public static final String X_CACHE_TTL = "x-cache-ttl";
+  public static final String PRECOMPUTE_REQUEST_METADATA = "precomputeRequestMetadata";
+  public static final String FUNCTIONAL_API = "functionalApi";
+  public static final String MODEL_BARRELS_BY_TAG = "modelBarrelsByTag";
+  public static final String X_STREAMING = "x-streaming";
+  public static final String X_BATCH = "x-batch";
+  public static final String GENERATE_VALIDATORS = "generateValidators";
+  public static final String RESILIENCE = "resilience";
+  public static final String X_RESILIENCE = "x-resilience";
+  public static final String OPERATION_METRICS = "operationMetrics";
+  public static final String WORKER_TRANSPORT = "workerTransport";
+  public static final String X_PARSE_IN_WORKER = "x-parse-in-worker";
+  public static final String X_RESPONSE_SIZE_HINT = "x-response-size-hint";
+  public static final String X_COLUMNAR = "x-columnar";
+  public static final String CURSOR_PAGINATION = "cursorPagination";
+  public static final String PAGINATION_CURSOR_PARAMS = "paginationCursorParams";
+  public static final String PAGINATION_NEXT_FIELDS = "paginationNextFields";
+  public static final String X_PAGINATION = "x-pagination";
+  public static final String OFFLINE_CACHE = "offlineCache";
+  public static final String X_OFFLINE = "x-offline";
+  public static final String MODEL_BARREL_FILE_SUFFIX = ".models";
+
+  // the request key shared by request coalescing and the response cache
+  private static final String X_HAS_REQUEST_KEY = "x-has-request-key";
+  private static final String X_RESPONSE_CACHE_TTL = "x-response-cache-ttl";
+  private static final String X_RESPONSE_CACHE_INVALIDATE = "x-response-cache-invalidate";
+  // the OfflinePolicy literal of a GET operation persisted in IndexedDB, and the mutations invalidating its entries
+  private static final String X_OFFLINE_POLICY = "x-offline-policy";
+  private static final String X_OFFLINE_INVALIDATE = "x-offline-invalidate";
+  // the credentials left out of the request key of the stored responses
+  private static final String X_OFFLINE_REQUEST_KEY = "x-offline-request-key";
+  // set on the imports of the models with a validate<Model> function, the mapped imports have none
+  private static final String HAS_VALIDATOR = "hasValidator";
+  // media types and response type selected at generation time
+  private static final String X_ACCEPT = "x-accept";
+  private static final String X_CONTENT_TYPE = "x-content-type";
+  private static final String X_RESPONSE_TYPE = "x-response-type";
+  // the stream companion method of an operation
+  private static final String X_STREAM = "x-stream";
+  private static final String STREAM_FORMAT_NDJSON = "ndjson";
+  private static final String STREAM_FORMAT_SSE = "sse";
+  private static final Set<String> NDJSON_MEDIA_TYPES = new HashSet<>(Arrays.asList(
+          "application/x-ndjson", "application/ndjson", "application/jsonl", "application/x-jsonlines", "application/jsonlines"));
+  private static final String SSE_MEDIA_TYPE = "text/event-stream";
+  // the compact formats of the built-in codecs of codecs.ts
+  private static final Set<String> BINARY_CODEC_MEDIA_TYPES = new HashSet<>(Arrays.asList(
+          "application/cbor", "application/msgpack", "application/x-msgpack", "application/vnd.msgpack"));
+  private static final String X_BINARY_ACCEPT = "x-binary-accept";
+  private static final String X_BINARY_RESPONSE = "x-binary-response";
+  private static final String X_BINARY_REQUEST = "x-binary-request";
+  // the responses received as an ArrayBuffer, decoded by the codecs or parsed by the worker
+  private static final String X_ARRAYBUFFER_RESPONSE = "x-arraybuffer-response";
+  // the WorkerParseOptions literal of an operation whose responses are parsed in the worker
+  private static final String X_WORKER_PARSE = "x-worker-parse";
+  // below 1 MiB, posting the parsed body back to the main thread costs about as much as parsing it there
+  private static final long WORKER_SIZE_HINT_THRESHOLD = 1024 * 1024;
+  // the columns of a model with x-columnar, and the ...Columns companion method of an operation returning an array of it
+  private static final String X_COLUMNAR_MODEL = "x-columnar-model";
+  private static final String X_COLUMNAR_RESPONSE = "x-columnar-response";
+  // the ...Pages companion method of a paginated operation, and its cursor parameter
+  private static final String X_PAGES = "x-pages";
+  private static final String X_PAGINATION_CURSOR = "x-pagination-cursor";
+  // the members of the generated <Model>Columns and <Model>Row classes
+  private static final Set<String> COLUMNAR_MEMBERS = new HashSet<>(Arrays.asList(
+          "length", "index", "columns", "row", "get", "toRows", "decode", "fromRows", "constructor"));
+  // the link of a single item operation to its batch operation
+  private static final String X_BATCHED = "x-batched";
+  // the OperationResiliencePolicy literal of an operation
+  private static final String X_RESILIENCE_POLICY = "x-resilience-policy";
+  // the tag of the OperationInfo of an operation
+  private static final String X_OPERATION_TAG = "x-operation-tag";
+  private static final Set<String> RESILIENCE_POLICY_KEYS = new HashSet<>(Arrays.asList("retry", "circuitBreaker", "idempotent"));
+  // same expression as Configuration.isJsonMime
+  private static final Pattern JSON_MIME = Pattern.compile("^(application/json|[^;/ \t]+/[^;/ \t]+[+]json)[ \t]*(;.*)?$", Pattern.CASE_INSENSITIVE);
+
+  private static final String INCREMENTAL_FINGERPRINT = "incrementalFingerprint";
+  // the output file of a bundle rendered outside the api and model templates, e.g. a model barrel
+  private static final String INCREMENTAL_TARGET = "incrementalTarget";
+  // properties that change on every run without affecting the generated api and model files
+  private static final Set<String> INCREMENTAL_VOLATILE_PROPERTIES = new HashSet<>(Arrays.asList(
+          "generatedDate", "generatedYear", "inputSpec"));
+
+  private static final CompiledTemplateCache TEMPLATE_CACHE = new CompiledTemplateCache();
+  private static final int NAMING_CACHE_SIZE = 16384;
 
   protected String ngVersion = "17.0.0";
   protected String npmRepository = null;
@@ -69,6 +178,53 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
   protected CustomAngularGenerator.PROVIDED_IN_LEVEL providedIn = CustomAngularGenerator.PROVIDED_IN_LEVEL.root;
 
   private boolean taggedUnions = false;
+  private boolean coalesceRequests = false;
+  private boolean responseCache = false;
+  private boolean precomputeRequestMetadata = false;
+  private boolean functionalApi = false;
+  private ModelBarrels modelBarrels = null;
+  private boolean hasStreamingOperations = false;
+  private boolean hasBatchedOperations = false;
+  private boolean hasBinaryCodecOperations = false;
+  private boolean generateValidators = false;
+  private boolean resilience = false;
+  private boolean operationMetrics = false;
+  private boolean workerTransport = false;
+  private boolean hasWorkerParsedOperations = false;
+  private ModelValidators modelValidators = null;
+  // the class names of the models, for the bodies parsed in the worker
+  private Set<String> workerModels = null;
+  private final Set<String> columnarModels = new HashSet<>();
+  private boolean cursorPagination = false;
+  private List<String> paginationCursorParams = Arrays.asList("cursor", "pageToken", "page_token", "after");
+  private List<String> paginationNextFields = Arrays.asList("next", "nextCursor", "next_cursor", "nextPageToken", "next_page_token");
+  private boolean hasPaginatedOperations = false;
+  // the class names of the models, with their property holding the cursor of the next page if any: read before the
+  // properties of the written models are released
+  private final Map<String, String> pageNextFields = new HashMap<>();
+  private boolean offlineCache = false;
+
+  private final NamingCache namingCache = new NamingCache(NAMING_CACHE_SIZE);
+
+  private IncrementalGenerationManifest incrementalManifest = null;
+  private SpecFingerprints specFingerprints = null;
+  private String incrementalOptionsHash = null;
+
+  private int generatorThreads = 1;
+  private boolean templatingConfigured = false;
+  // api and model templates rendered by the ParallelTemplateRenderer instead of the generator
+  private final Map<String, String> parallelApiTemplateFiles = new LinkedHashMap<>();
+  private final Map<String, String> parallelModelTemplateFiles = new LinkedHashMap<>();
+  private final Map<String, ModelsMap> parallelModels = new LinkedHashMap<>();
+  private final List<File> parallelFiles = new ArrayList<>();
+  private byte[] filesMetadataSnapshot = null;
+
+  // outputs already written by the generator, released in low memory mode
+  private Map<String, ModelsMap> writtenModels = null;
+  private OperationsMap writtenOperations = null;
+
+  private GenerationMetrics generationMetrics = null;
+  private FileTime filesMetadataSnapshotTime = null;
 
   public CustomAngularGenerator() {
     super();
@@ -80,6 +236,7 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
     );
 
     this.outputFolder = "generated-code/custom-angular";
+    setTemplatingEngine(getTemplatingEngine());
 
     supportsMultipleInheritance = true;
 
@@ -121,6 +278,58 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
     this.cliOptions.add(new CliOption(FILE_NAMING, "Naming convention for the output files: 'camelCase', 'kebab-case'.").defaultValue(this.fileNaming));
     this.cliOptions.add(new CliOption(STRING_ENUMS, STRING_ENUMS_DESC).defaultValue(String.valueOf(this.stringEnums)));
     this.cliOptions.add(new CliOption(QUERY_PARAM_OBJECT_FORMAT, "The format for query param objects: 'dot', 'json', 'key'.").defaultValue(this.queryParamObjectFormat.name()));
+    this.cliOptions.add(CliOption.newBoolean(BUFFERED_QUERY_PARAMS,
+            "Collect the query parameters of a request in one buffer and create the HttpParams once, instead of creating new HttpParams for every value. The query string is the same.",
+            false));
+    this.cliOptions.add(CliOption.newBoolean(INCREMENTAL_GENERATION,
+            "Only re-render the api and model files whose spec fragment, options or templates changed since the previous run. Unchanged files are left untouched and the files of deleted tags and schemas are removed.",
+            false));
+    this.cliOptions.add(new CliOption(GENERATOR_THREADS,
+            "The number of threads the api and model files are rendered with, e.g. the number of cores. The output does not depend on it.")
+            .defaultValue(String.valueOf(this.generatorThreads)));
+    this.cliOptions.add(CliOption.newBoolean(LOW_MEMORY_GENERATION,
+            "Release the operations of each tag and the properties of the models as soon as their files are written, so the heap does not hold the processed data of the whole spec until the end of the run. Files are rendered on a single thread.",
+            false));
+    this.cliOptions.add(CliOption.newBoolean(GENERATION_METRICS,
+            "Write the wall time, allocated bytes and item counts of every generation phase and template to " + GENERATION_METRICS_FILENAME + ", next to the README.md.",
+            false));
+    this.cliOptions.add(CliOption.newBoolean(COALESCE_REQUESTS,
+            "Share identical concurrent GET and HEAD requests (same url, query parameters and Accept header) through an in-flight request registry of the Configuration. Operations can opt out with '" + X_COALESCE_REQUEST + ": false'.",
+            this.coalesceRequests));
+    this.cliOptions.add(CliOption.newBoolean(RESPONSE_CACHE,
+            "Cache the responses of the GET operations with a '" + X_CACHE_TTL + "' (in seconds) in an LRU cache of the Configuration. The mutating operations of the same tag invalidate the cached responses of the tag.",
+            this.responseCache));
+    this.cliOptions.add(CliOption.newBoolean(PRECOMPUTE_REQUEST_METADATA,
+            "Select the Accept and Content-Type headers and the response type of every operation at generation time instead of on every call, and encode string and number path parameters with encodeURIComponent instead of Configuration.encodeParam.",
+            this.precomputeRequestMetadata));
+    this.cliOptions.add(CliOption.newBoolean(FUNCTIONAL_API,
+            "Generate one tree-shakeable function per operation, obtained with inject<OperationId>() in an injection context, instead of one service class per tag. Requires Angular 14.1+.",
+            this.functionalApi));
+    this.cliOptions.add(CliOption.newBoolean(MODEL_BARRELS_BY_TAG,
+            "Also generate one model barrel per tag (<tag>" + MODEL_BARREL_FILE_SUFFIX + ".ts) with the models used only by that tag, re-exporting a common barrel with the shared models. The root index.ts no longer re-exports the models.",
+            false));
+    this.cliOptions.add(CliOption.newBoolean(GENERATE_VALIDATORS,
+            "Generate a validate<Model>() function per model, compiled from its schema, and let the services check their response bodies when the Configuration sets validateResponses.",
+            this.generateValidators));
+    this.cliOptions.add(CliOption.newBoolean(RESILIENCE,
+            "Send the requests through the ResiliencePipeline of the Configuration: retries of the idempotent requests with exponential backoff and jitter honouring Retry-After, and a circuit breaker per operation. Operations can set their policy with '" + X_RESILIENCE + "'.",
+            this.resilience));
+    this.cliOptions.add(CliOption.newBoolean(OPERATION_METRICS,
+            "Attach the service, operation and tag of every request to its HttpContext, and generate an OperationMetricsInterceptor recording the latency, payload sizes and errors per operation in histograms. Requires Angular 12+.",
+            this.operationMetrics));
+    this.cliOptions.add(CliOption.newBoolean(WORKER_TRANSPORT,
+            "Receive the responses of the operations setting '" + X_PARSE_IN_WORKER + ": true', or a '" + X_RESPONSE_SIZE_HINT + "' of at least " + WORKER_SIZE_HINT_THRESHOLD + " bytes, as an ArrayBuffer, parsed, validated and with their dates revived in a Web Worker started by the Configuration.",
+            this.workerTransport));
+    this.cliOptions.add(CliOption.newBoolean(CURSOR_PAGINATION,
+            "Generate a ...Pages companion method, fetching the pages lazily, for the operations with a cursor query parameter named after " + PAGINATION_CURSOR_PARAMS + " whose response has a field named after " + PAGINATION_NEXT_FIELDS + ". Operations can also opt in or out with '" + X_PAGINATION + "'.",
+            this.cursorPagination));
+    this.cliOptions.add(new CliOption(PAGINATION_CURSOR_PARAMS, "The comma separated names of the cursor query parameters of the paginated operations.")
+            .defaultValue(String.join(",", paginationCursorParams)));
+    this.cliOptions.add(new CliOption(PAGINATION_NEXT_FIELDS, "The comma separated names of the response fields holding the cursor of the next page.")
+            .defaultValue(String.join(",", paginationNextFields)));
+    this.cliOptions.add(CliOption.newBoolean(OFFLINE_CACHE,
+            "Persist the responses of the GET operations in IndexedDB through the OfflineResponseStore of the Configuration: stored responses are emitted first while they are revalidated, and when the network fails. Operations can opt out or set their policy with '" + X_OFFLINE + "'.",
+            this.offlineCache));
   }
 
   @Override
@@ -141,11 +350,29 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
 
   @Override
   public void processOpts() {
+    // the names depend on the options set below
+    namingCache.clear();
+    if (additionalProperties.containsKey(GENERATION_METRICS) && convertPropertyToBoolean(GENERATION_METRICS)) {
+      generationMetrics = new GenerationMetrics();
+    }
+    GenerationMetrics.Sample start = startPhase();
     super.processOpts();
+    if (additionalProperties.containsKey(FUNCTIONAL_API)) {
+      functionalApi = convertPropertyToBoolean(FUNCTIONAL_API);
+    }
+    writePropertyBack(FUNCTIONAL_API, functionalApi);
     supportingFiles.add(
             new SupportingFile("models.mustache", modelPackage().replace('.', File.separatorChar), "models.ts"));
     supportingFiles
-            .add(new SupportingFile("apis.mustache", apiPackage().replace('.', File.separatorChar), "api.ts"));
+            .add(new SupportingFile("apis.mustache", apiPackage().replace('.', File.separatorChar), functionalApi ? "index.ts" : "api.ts"));
+    if (functionalApi) {
+      supportingFiles.add(new SupportingFile("apiContext.mustache", apiPackage().replace('.', File.separatorChar), "functionalApiContext.ts"));
+      apiTemplateFiles.remove("api.service.mustache");
+      apiTemplateFiles.put("api.functions.mustache", ".ts");
+      if (!additionalProperties.containsKey(SERVICE_FILE_SUFFIX)) {
+        serviceFileSuffix = ".functions";
+      }
+    }
     supportingFiles.add(new SupportingFile("index.mustache", getIndexDirectory(), "index.ts"));
     supportingFiles.add(new SupportingFile("api.module.mustache", getIndexDirectory(), "api.module.ts"));
     supportingFiles.add(new SupportingFile("configuration.mustache", getIndexDirectory(), "configuration.ts"));
@@ -169,6 +396,19 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
     if (!ngVersion.atLeast("9.0.0")) {
       throw new IllegalArgumentException("Invalid ngVersion: " + ngVersion + ". Only Angular v9+ is supported.");
     }
+    if (functionalApi && !ngVersion.atLeast("14.1.0")) {
+      throw new IllegalArgumentException("Invalid ngVersion: " + ngVersion + ". " + FUNCTIONAL_API + " requires Angular v14.1+ (inject() with options).");
+    }
+    if (additionalProperties.containsKey(OPERATION_METRICS)) {
+      operationMetrics = convertPropertyToBoolean(OPERATION_METRICS);
+    }
+    writePropertyBack(OPERATION_METRICS, operationMetrics);
+    if (operationMetrics) {
+      if (!ngVersion.atLeast("12.0.0")) {
+        throw new IllegalArgumentException("Invalid ngVersion: " + ngVersion + ". " + OPERATION_METRICS + " requires Angular v12+ (HttpContext).");
+      }
+      supportingFiles.add(new SupportingFile("operationMetrics.mustache", getIndexDirectory(), "operationMetrics.ts"));
+    }
 
     if (additionalProperties.containsKey(NPM_NAME)) {
       addNpmPackageGeneration(ngVersion);
@@ -184,7 +424,9 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
 
     if (additionalProperties.containsKey(WITH_INTERFACES)) {
       boolean withInterfaces = Boolean.parseBoolean(additionalProperties.get(WITH_INTERFACES).toString());
-      if (withInterfaces) {
+      if (withInterfaces && functionalApi) {
+        LOGGER.info("{} is ignored with {}, there are no service classes to implement them", WITH_INTERFACES, FUNCTIONAL_API);
+      } else if (withInterfaces) {
         apiTemplateFiles.put("apiInterface.mustache", "Interface.ts");
       }
     }
@@ -198,6 +440,76 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
       taggedUnions = Boolean.parseBoolean(additionalProperties.get(TAGGED_UNIONS).toString());
     }
 
+    if (additionalProperties.containsKey(COALESCE_REQUESTS)) {
+      coalesceRequests = convertPropertyToBoolean(COALESCE_REQUESTS);
+    }
+    writePropertyBack(COALESCE_REQUESTS, coalesceRequests);
+    if (coalesceRequests) {
+      supportingFiles.add(new SupportingFile("requestRegistry.mustache", getIndexDirectory(), "requestRegistry.ts"));
+    }
+
+    if (additionalProperties.containsKey(RESPONSE_CACHE)) {
+      responseCache = convertPropertyToBoolean(RESPONSE_CACHE);
+    }
+    writePropertyBack(RESPONSE_CACHE, responseCache);
+    if (responseCache) {
+      supportingFiles.add(new SupportingFile("responseCache.mustache", getIndexDirectory(), "responseCache.ts"));
+    }
+
+    if (additionalProperties.containsKey(PRECOMPUTE_REQUEST_METADATA)) {
+      precomputeRequestMetadata = convertPropertyToBoolean(PRECOMPUTE_REQUEST_METADATA);
+    }
+    writePropertyBack(PRECOMPUTE_REQUEST_METADATA, precomputeRequestMetadata);
+
+    if (additionalProperties.containsKey(GENERATE_VALIDATORS)) {
+      generateValidators = convertPropertyToBoolean(GENERATE_VALIDATORS);
+    }
+    writePropertyBack(GENERATE_VALIDATORS, generateValidators);
+    if (generateValidators) {
+      supportingFiles.add(new SupportingFile("validation.mustache", getIndexDirectory(), "validation.ts"));
+    }
+
+    if (additionalProperties.containsKey(RESILIENCE)) {
+      resilience = convertPropertyToBoolean(RESILIENCE);
+    }
+    writePropertyBack(RESILIENCE, resilience);
+    if (resilience) {
+      supportingFiles.add(new SupportingFile("resilience.mustache", getIndexDirectory(), "resilience.ts"));
+    }
+
+    if (additionalProperties.containsKey(WORKER_TRANSPORT)) {
+      workerTransport = convertPropertyToBoolean(WORKER_TRANSPORT);
+    }
+    writePropertyBack(WORKER_TRANSPORT, workerTransport);
+    if (workerTransport) {
+      supportingFiles.add(new SupportingFile("responseParsing.mustache", getIndexDirectory(), "responseParsing.ts"));
+      supportingFiles.add(new SupportingFile("responseParser.worker.mustache", getIndexDirectory(), "responseParser.worker.ts"));
+      supportingFiles.add(new SupportingFile("workerTransport.mustache", getIndexDirectory(), "workerTransport.ts"));
+    }
+
+    if (additionalProperties.containsKey(OFFLINE_CACHE)) {
+      offlineCache = convertPropertyToBoolean(OFFLINE_CACHE);
+    }
+    writePropertyBack(OFFLINE_CACHE, offlineCache);
+    if (offlineCache) {
+      supportingFiles.add(new SupportingFile("offlineStore.mustache", getIndexDirectory(), "offlineStore.ts"));
+    }
+
+    if (additionalProperties.containsKey(CURSOR_PAGINATION)) {
+      cursorPagination = convertPropertyToBoolean(CURSOR_PAGINATION);
+    }
+    writePropertyBack(CURSOR_PAGINATION, cursorPagination);
+    if (additionalProperties.containsKey(PAGINATION_CURSOR_PARAMS)) {
+      paginationCursorParams = splitNames(additionalProperties.get(PAGINATION_CURSOR_PARAMS).toString());
+    }
+    if (additionalProperties.containsKey(PAGINATION_NEXT_FIELDS)) {
+      paginationNextFields = splitNames(additionalProperties.get(PAGINATION_NEXT_FIELDS).toString());
+    }
+
+    boolean modelBarrelsByTag = additionalProperties.containsKey(MODEL_BARRELS_BY_TAG) && convertPropertyToBoolean(MODEL_BARRELS_BY_TAG);
+    writePropertyBack(MODEL_BARRELS_BY_TAG, modelBarrelsByTag);
+    modelBarrels = modelBarrelsByTag ? new ModelBarrels() : null;
+
     if (additionalProperties.containsKey(PROVIDED_IN)) {
       setProvidedIn(additionalProperties.get(PROVIDED_IN).toString());
     }
@@ -260,7 +572,146 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
     additionalProperties.put("isQueryParamObjectFormatDot", getQueryParamObjectFormatDot());
     additionalProperties.put("isQueryParamObjectFormatJson", getQueryParamObjectFormatJson());
     additionalProperties.put("isQueryParamObjectFormatKey", getQueryParamObjectFormatKey());
+    writePropertyBack(BUFFERED_QUERY_PARAMS,
+            additionalProperties.containsKey(BUFFERED_QUERY_PARAMS) && convertPropertyToBoolean(BUFFERED_QUERY_PARAMS));
+
+    if (isIncrementalGeneration()) {
+      incrementalManifest = IncrementalGenerationManifest.load(getOutputDir());
+    }
+
+    if (additionalProperties.containsKey(GENERATOR_THREADS)) {
+      setGeneratorThreads(additionalProperties.get(GENERATOR_THREADS).toString());
+    }
+    if (generatorThreads > 1 && isLowMemoryGeneration()) {
+      // parallel rendering keeps every tag and model until all of them are processed
+      LOGGER.info("{} is ignored with {}", GENERATOR_THREADS, LOW_MEMORY_GENERATION);
+      generatorThreads = 1;
+    }
+    if (generatorThreads > 1) {
+      if (templatingConfigured) {
+        // the generator renders these one by one, they are rendered in postProcessSupportingFileData instead
+        parallelApiTemplateFiles.putAll(apiTemplateFiles);
+        parallelModelTemplateFiles.putAll(modelTemplateFiles);
+        apiTemplateFiles.clear();
+        modelTemplateFiles.clear();
+        snapshotFilesMetadata();
+      } else {
+        LOGGER.info("{} is ignored for dry runs and templating engines other than mustache", GENERATOR_THREADS);
+      }
+    }
+    endPhase("processOpts", start, supportingFiles.size());
+  }
+
+  @Override
+  public void preprocessOpenAPI(OpenAPI openAPI) {
+    GenerationMetrics.Sample start = startPhase();
+    super.preprocessOpenAPI(openAPI);
+    endPhase("preprocessOpenAPI", start, openAPI.getPaths() == null ? 0 : openAPI.getPaths().size());
+  }
+
+  @Override
+  public Mustache.Compiler processCompiler(Mustache.Compiler compiler) {
+    // only called when the generator writes files with the mustache engine, i.e. not on a dry run
+    templatingConfigured = true;
+    return super.processCompiler(compiler);
+  }
+
+  @Override
+  public Map<String, Object> postProcessSupportingFileData(Map<String, Object> objs) {
+    GenerationMetrics.Sample start = startPhase();
+    Map<String, Object> result = super.postProcessSupportingFileData(objs);
+    releaseWrittenOutputs();
+    endPhase("postProcessSupportingFileData", start, supportingFiles.size());
+    if (!parallelApiTemplateFiles.isEmpty() || !parallelModelTemplateFiles.isEmpty()) {
+      start = startPhase();
+      renderInParallel(objs);
+      endPhase("renderInParallel", start, parallelFiles.size());
+    }
+    if (modelBarrels != null) {
+      start = startPhase();
+      int barrels = renderModelBarrels(objs);
+      endPhase("renderModelBarrels", start, barrels);
+    }
+    return result;
+  }
+
+  /**
+   * Writes the model barrel of every tag and the common barrel.
+   *
+   * @param supportingFileData the data of the supporting files, with the models that have a file
+   * @return the number of barrels written
+   */
+  private int renderModelBarrels(Map<String, Object> supportingFileData) {
+    if (!templatingConfigured) {
+      LOGGER.info("{} is ignored for dry runs and templating engines other than mustache", MODEL_BARRELS_BY_TAG);
+      return 0;
+    }
+    Map<String, String> modelFilenames = new LinkedHashMap<>();
+    Object models = supportingFileData.get("models");
+    if (models instanceof List) {
+      for (Object model : (List<?>) models) {
+        CodegenModel cm = ((ModelMap) model).getModel();
+        modelFilenames.put(cm.classname, cm.classFilename);
+      }
+    }
+
+    ParallelTemplateRenderer renderer = new ParallelTemplateRenderer(this, Math.max(1, generatorThreads));
+    for (Map.Entry<String, List<String>> barrel : modelBarrels.group(modelFilenames.keySet()).entrySet()) {
+      Map<String, Object> bundle = new HashMap<>(additionalProperties);
+      List<Map<String, String>> exports = new ArrayList<>(barrel.getValue().size());
+      for (String classname : barrel.getValue()) {
+        exports.add(Collections.singletonMap("classFilename", modelFilenames.get(classname)));
+      }
+      bundle.put("models", exports);
+      if (!ModelBarrels.COMMON.equals(barrel.getKey())) {
+        bundle.put("commonBarrel", DEFAULT_IMPORT_PREFIX + ModelBarrels.COMMON + MODEL_BARREL_FILE_SUFFIX);
+      }
+      File target = new File(modelFileFolder(), barrel.getKey() + MODEL_BARREL_FILE_SUFFIX + ".ts");
+      if (incrementalManifest != null) {
+        // recorded in the manifest, so that the barrel of a deleted tag is pruned
+        bundle.put(INCREMENTAL_TARGET, target);
+        bundle.put(INCREMENTAL_FINGERPRINT, IncrementalGenerationManifest.sha256(exports + "|" + bundle.get("commonBarrel")));
+      }
+      renderer.add(bundle, "modelBarrel.mustache", target, "supportingFile");
+    }
+    try {
+      List<File> written = renderer.renderAndWrite();
+      parallelFiles.addAll(written);
+      return written.size();
+    } catch (IOException e) {
+      throw new RuntimeException("Could not generate the model barrels", e);
+    }
+  }
+
+  @Override
+  public boolean isEnableMinimalUpdate() {
+    // read before processOpts, unchanged files must not be rewritten in incremental mode
+    return super.isEnableMinimalUpdate() || isIncrementalGeneration();
+  }
 
+  @Override
+  public void setTemplatingEngine(TemplatingEngineAdapter templatingEngine) {
+    if (templatingEngine != null && templatingEngine.getClass() == MustacheEngineAdapter.class) {
+      templatingEngine = new CustomAngularMustacheEngineAdapter(this, (MustacheEngineAdapter) templatingEngine);
+    }
+    super.setTemplatingEngine(templatingEngine);
+  }
+
+  @Override
+  public void postProcess() {
+    if (incrementalManifest != null) {
+      saveIncrementalGenerationManifest();
+    }
+    if (!parallelFiles.isEmpty()) {
+      addToFilesMetadata(parallelFiles);
+    }
+    LOGGER.info("Compiled template cache: {} hits, {} misses, {} templates cached",
+            TEMPLATE_CACHE.getHits(), TEMPLATE_CACHE.getMisses(), TEMPLATE_CACHE.size());
+    LOGGER.info("Naming cache: {} hits, {} misses", getNamingCacheHits(), getNamingCacheMisses());
+    if (generationMetrics != null) {
+      writeGenerationMetrics();
+    }
+    super.postProcess();
   }
 
   private void addNpmPackageGeneration(SemVer ngVersion) {
@@ -426,24 +877,120 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
 
   @Override
   public OperationsMap postProcessOperationsWithModels(OperationsMap operations, List<ModelMap> allModels) {
+    GenerationMetrics.Sample start = startPhase();
     OperationMap objs = operations.getOperations();
 
+    // the generator writes the files of a tag before it processes the next one
+    releaseWrittenOutputs();
+    if (isLowMemoryGeneration()) {
+      writtenOperations = operations;
+    }
+
+    if (incrementalManifest != null) {
+      // fingerprint the original paths, they are rewritten below
+      operations.put(INCREMENTAL_FINGERPRINT, getSpecFingerprints().operations(objs.getOperation()));
+    }
+
     // Add filename information for api imports
     objs.put("apiFilename", getApiFilenameFromClassname(objs.getClassname()));
 
+    if (modelBarrels != null) {
+      String classname = objs.getClassname();
+      List<String> imported = new ArrayList<>();
+      for (Map<String, String> im : operations.getImports()) {
+        imported.add(im.get("classname"));
+      }
+      modelBarrels.addTag(convertUsingFileNamingConvention(classname.substring(0, classname.length() - serviceSuffix.length())), imported);
+    }
+
     List<CodegenOperation> ops = objs.getOperation();
     boolean hasSomeFormParams = false;
     boolean hasSomeEncodableParams = false;
+    boolean hasResponseCache = false;
+    boolean hasStreamingTag = false;
+    boolean hasBinaryCodecTag = false;
+    boolean hasWorkerParsedTag = false;
+    Set<String> columnarTypes = new HashSet<>();
+    boolean hasPaginatedTag = false;
+    boolean hasOfflineTag = false;
     for (CodegenOperation op : ops) {
       if (op.getHasFormParams()) {
         hasSomeFormParams = true;
       }
       op.httpMethod = op.httpMethod.toLowerCase(Locale.ENGLISH);
-
+      if (coalesceRequests || op.vendorExtensions.containsKey(X_COALESCE_REQUEST)) {
+        // only safe methods are shared, whatever the spec says
+        op.vendorExtensions.put(X_COALESCE_REQUEST, coalesceRequests
+                && ("get".equals(op.httpMethod) || "head".equals(op.httpMethod))
+                && !Boolean.FALSE.equals(op.vendorExtensions.get(X_COALESCE_REQUEST)));
+      }
+      if (responseCache && "get".equals(op.httpMethod)) {
+        Long ttl = getResponseCacheTtl(op);
+        if (ttl != null) {
+          op.vendorExtensions.put(X_RESPONSE_CACHE_TTL, ttl);
+          hasResponseCache = true;
+        }
+      }
+      if (Boolean.TRUE.equals(op.vendorExtensions.get(X_COALESCE_REQUEST)) || op.vendorExtensions.containsKey(X_RESPONSE_CACHE_TTL)) {
+        op.vendorExtensions.put(X_HAS_REQUEST_KEY, true);
+      }
+      if (precomputeRequestMetadata) {
+        precomputeRequestMetadata(op);
+      }
+      Map<String, Object> stream = getStream(op);
+      if (stream != null) {
+        op.vendorExtensions.put(X_STREAM, stream);
+        hasStreamingTag = true;
+      }
+      if (addBinaryCodecs(op)) {
+        hasBinaryCodecTag = true;
+      }
+      String workerParseOptions = workerTransport ? getWorkerParseOptions(op) : null;
+      if (workerParseOptions != null) {
+        op.vendorExtensions.put(X_WORKER_PARSE, workerParseOptions);
+        op.vendorExtensions.put(X_ARRAYBUFFER_RESPONSE, true);
+        hasWorkerParsedTag = true;
+      }
+      // the bodies are stored as JSON, the decoded binary bodies and the revived dates would not round trip
+      if (offlineCache && "get".equals(op.httpMethod) && !op.vendorExtensions.containsKey(X_ARRAYBUFFER_RESPONSE)) {
+        String policy = getOfflinePolicy(op);
+        if (policy != null) {
+          op.vendorExtensions.put(X_OFFLINE_POLICY, policy);
+          op.vendorExtensions.put(X_OFFLINE_REQUEST_KEY, getOfflineRequestKey(op));
+          hasOfflineTag = true;
+        }
+      }
+      if (op.returnBaseType != null && "array".equals(op.returnContainer) && columnarModels.contains(op.returnBaseType)) {
+        Map<String, Object> columnar = new HashMap<>();
+        columnar.put("columnarRequest", true);
+        columnar.put("columnarModel", op.returnBaseType);
+        op.vendorExtensions.put(X_COLUMNAR_RESPONSE, columnar);
+        columnarTypes.add(op.returnBaseType);
+      }
+      Map<String, Object> pages = getPagination(op);
+      if (pages != null) {
+        op.vendorExtensions.put(X_PAGES, pages);
+        hasPaginatedTag = true;
+      }
+      if (operationMetrics) {
+        // the tag of this service, an operation with several tags is in several services
+        op.vendorExtensions.put(X_OPERATION_TAG, escapeQuotes(op.baseName));
+      }
+      if (resilience) {
+        op.vendorExtensions.put(X_RESILIENCE_POLICY, getResiliencePolicy(op));
+      }
+      // the worker validates the bodies it parses
+      if (modelValidators != null && workerParseOptions == null) {
+        String responseValidator = modelValidators.responseValidator(op);
+        if (responseValidator != null) {
+          op.vendorExtensions.put(ModelValidators.X_RESPONSE_VALIDATOR, responseValidator);
+        }
+      }
 
       // Prep a string buffer where we're going to set up our new version of the string.
       StringBuilder pathBuffer = new StringBuilder();
       ParameterExpander paramExpander = new ParameterExpander(op, this::toParamName);
+      StringBuilder parameterName = new StringBuilder();
       int insideCurly = 0;
 
       // Iterate through existing string, one character at a time.
@@ -457,13 +1004,23 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
             // We exited curly braces, so track that.
             insideCurly--;
 
-            pathBuffer.append(paramExpander.buildPathEntry());
-            hasSomeEncodableParams = true;
+            // always built, it also resets the expander for the next parameter
+            String pathEntry = paramExpander.buildPathEntry();
+            CodegenParameter directParam = precomputeRequestMetadata ? findDirectlyEncodedPathParam(op, parameterName.toString()) : null;
+            if (directParam != null) {
+              // same result as the default Configuration.encodeParam, without building the Param object
+              pathBuffer.append("${encodeURIComponent(String(").append(directParam.paramName).append("))}");
+            } else {
+              pathBuffer.append(pathEntry);
+              hasSomeEncodableParams = true;
+            }
+            parameterName.setLength(0);
             break;
           default:
             char nextChar = op.path.charAt(i);
             if (insideCurly > 0) {
               paramExpander.appendToParameterName(nextChar);
+              parameterName.append(nextChar);
             } else {
               pathBuffer.append(nextChar);
             }
@@ -475,29 +1032,636 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
       op.path = pathBuffer.toString();
     }
 
+    boolean hasBatchedTag = false;
+    for (CodegenOperation op : ops) {
+      if (op.vendorExtensions.containsKey(X_BATCH)) {
+        Map<String, Object> batch = linkBatchOperation(op, ops);
+        if (batch != null) {
+          op.vendorExtensions.put(X_BATCHED, batch);
+          hasBatchedTag = true;
+        }
+      }
+    }
+    if (hasBatchedTag && !hasBatchedOperations) {
+      hasBatchedOperations = true;
+      additionalProperties.put("hasBatchedOperations", true);
+      supportingFiles.add(new SupportingFile("requestBatcher.mustache", getIndexDirectory(), "requestBatcher.ts"));
+    }
+
+    if (hasResponseCache) {
+      // a change through the service makes the cached responses of the service stale
+      for (CodegenOperation op : ops) {
+        if (!"get".equals(op.httpMethod) && !"head".equals(op.httpMethod) && !"options".equals(op.httpMethod)) {
+          op.vendorExtensions.put(X_RESPONSE_CACHE_INVALIDATE, true);
+        }
+      }
+    }
+
+    if (hasOfflineTag) {
+      // a change through the service makes its stored responses stale too
+      for (CodegenOperation op : ops) {
+        if (!"get".equals(op.httpMethod) && !"head".equals(op.httpMethod) && !"options".equals(op.httpMethod)) {
+          op.vendorExtensions.put(X_OFFLINE_INVALIDATE, true);
+        }
+      }
+    }
+
+    operations.put("hasResponseCache", hasResponseCache);
+    operations.put("hasOfflineOperations", hasOfflineTag);
+    operations.put("hasStreamingOperations", hasStreamingTag);
+    if (hasStreamingTag && !hasStreamingOperations) {
+      // the supporting files are generated after all the tags are processed
+      hasStreamingOperations = true;
+      additionalProperties.put("hasStreamingOperations", true);
+      supportingFiles.add(new SupportingFile("streaming.mustache", getIndexDirectory(), "streaming.ts"));
+    }
+    operations.put("hasBinaryCodecOperations", hasBinaryCodecTag);
+    if (hasBinaryCodecTag && !hasBinaryCodecOperations) {
+      hasBinaryCodecOperations = true;
+      additionalProperties.put("hasBinaryCodecOperations", true);
+      supportingFiles.add(new SupportingFile("codecs.mustache", getIndexDirectory(), "codecs.ts"));
+    }
+    operations.put("hasWorkerParsedOperations", hasWorkerParsedTag);
+    if (hasWorkerParsedTag && !hasWorkerParsedOperations) {
+      hasWorkerParsedOperations = true;
+      additionalProperties.put("hasWorkerParsedOperations", true);
+    }
+    operations.put("hasColumnarOperations", !columnarTypes.isEmpty());
+    operations.put("hasPaginatedOperations", hasPaginatedTag);
+    if (hasPaginatedTag && !hasPaginatedOperations) {
+      hasPaginatedOperations = true;
+      additionalProperties.put("hasPaginatedOperations", true);
+      supportingFiles.add(new SupportingFile("pagination.mustache", getIndexDirectory(), "pagination.ts"));
+    }
     operations.put("hasSomeFormParams", hasSomeFormParams);
     operations.put("hasSomeEncodableParams", hasSomeEncodableParams);
 
     // Add additional filename information for model imports in the services
     List<Map<String, String>> imports = operations.getImports();
+    List<Map<String, String>> columnarImports = new ArrayList<>();
     for (Map<String, String> im : imports) {
       // This property is not used in the templates any more, subject for removal
       im.put("filename", im.get("import"));
       im.put("classname", im.get("classname"));
+      if (modelValidators != null && modelValidators.hasValidator(im.get("classname"))) {
+        im.put(HAS_VALIDATOR, "true");
+      }
+      if (columnarTypes.contains(im.get("classname"))) {
+        columnarImports.add(im);
+      }
     }
+    operations.put("columnarImports", columnarImports);
 
+    endPhase("postProcessOperationsWithModels", start, ops.size());
     return operations;
   }
 
+  /**
+   * Selects the Accept and Content-Type headers of an operation as Configuration.selectHeaderAccept and
+   * Configuration.selectHeaderContentType would on every call, and the response type for the selected Accept header.
+   *
+   * @param op the operation
+   */
+  private void precomputeRequestMetadata(CodegenOperation op) {
+    String accept = selectMediaType(op.produces);
+    String responseType = "json";
+    if (accept != null) {
+      op.vendorExtensions.put(X_ACCEPT, accept);
+      if (accept.startsWith("text")) {
+        responseType = "text";
+      } else if (!isJsonMime(accept)) {
+        responseType = "blob";
+      }
+    }
+    op.vendorExtensions.put(X_RESPONSE_TYPE, responseType);
+
+    String contentType = selectMediaType(op.consumes);
+    if (contentType != null) {
+      op.vendorExtensions.put(X_CONTENT_TYPE, contentType);
+    }
+  }
+
+  /**
+   * @param mediaTypes the media types of an operation
+   * @return the first JSON media type, else the first media type, <code>null</code> if there are none
+   */
+  private static String selectMediaType(List<Map<String, String>> mediaTypes) {
+    if (mediaTypes == null || mediaTypes.isEmpty()) {
+      return null;
+    }
+    for (Map<String, String> mediaType : mediaTypes) {
+      if (isJsonMime(mediaType.get("mediaType"))) {
+        return mediaType.get("mediaType");
+      }
+    }
+    return mediaTypes.get(0).get("mediaType");
+  }
+
+  private static boolean isJsonMime(String mime) {
+    return mime != null && (JSON_MIME.matcher(mime).matches() || "application/json-patch+json".equalsIgnoreCase(mime));
+  }
+
+  /**
+   * Finds the path parameter whose value the default Configuration.encodeParam would only pass to
+   * encodeURIComponent: strings and numbers, whatever their style.
+   *
+   * @param op       the operation
+   * @param baseName the name of the parameter in the path
+   * @return the parameter, <code>null</code> if it is missing or must go through Configuration.encodeParam
+   */
+  private static CodegenParameter findDirectlyEncodedPathParam(CodegenOperation op, String baseName) {
+    for (CodegenParameter param : op.pathParams) {
+      if (baseName.equals(param.baseName)) {
+        boolean number = param.isNumber || param.isInteger || param.isLong || param.isFloat || param.isDouble;
+        return (param.isString || number) && !param.isDate && !param.isDateTime && !param.isArray && !param.isModel
+                ? param : null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Decides whether an operation gets a stream companion method, from its <code>x-streaming</code>
+   * (<code>true</code>, <code>false</code>, <code>ndjson</code> or <code>sse</code>) or else from the media types it
+   * produces.
+   *
+   * @param op the operation
+   * @return the format, media type and record type of the stream, <code>null</code> if the operation is not streamed
+   */
+  private Map<String, Object> getStream(CodegenOperation op) {
+    Object streaming = op.vendorExtensions.get(X_STREAMING);
+    if (streaming != null && "false".equalsIgnoreCase(streaming.toString().trim())) {
+      return null;
+    }
+    String format = null;
+    String mediaType = null;
+    if (op.produces != null) {
+      for (Map<String, String> produced : op.produces) {
+        String candidate = produced.get("mediaType");
+        String essence = candidate == null ? "" : candidate.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        if (NDJSON_MEDIA_TYPES.contains(essence)) {
+          format = STREAM_FORMAT_NDJSON;
+        } else if (SSE_MEDIA_TYPE.equals(essence)) {
+          format = STREAM_FORMAT_SSE;
+        } else {
+          continue;
+        }
+        mediaType = candidate;
+        break;
+      }
+    }
+    if (streaming != null) {
+      String requested = streaming.toString().trim().toLowerCase(Locale.ROOT);
+      if (STREAM_FORMAT_NDJSON.equals(requested) || STREAM_FORMAT_SSE.equals(requested)) {
+        if (!requested.equals(format)) {
+          mediaType = null;
+        }
+        format = requested;
+      } else if (!"true".equals(requested)) {
+        LOGGER.warn("Ignoring invalid {} '{}' of operation {}, it must be true, false, {} or {}",
+                X_STREAMING, streaming, op.operationId, STREAM_FORMAT_NDJSON, STREAM_FORMAT_SSE);
+        return null;
+      } else if (format == null) {
+        format = STREAM_FORMAT_NDJSON;
+      }
+    }
+    if (format == null) {
+      return null;
+    }
+
+    Map<String, Object> stream = new HashMap<>();
+    stream.put("streamRequest", true);
+    stream.put("streamFormat", format);
+    stream.put("streamMediaType", mediaType != null ? mediaType
+            : STREAM_FORMAT_SSE.equals(format) ? SSE_MEDIA_TYPE : "application/x-ndjson");
+    // a stream of an array schema emits its items
+    String recordType = op.returnType == null ? "any"
+            : "array".equals(op.returnContainer) && op.returnBaseType != null ? op.returnBaseType : op.returnType;
+    stream.put("streamRecordType", recordType);
+    return stream;
+  }
+
+  /**
+   * Links a single item operation to the batch operation of its <code>x-batch</code>, either the operationId of the
+   * batch operation or an object with:
+   * <ul>
+   * <li><code>operation</code>: the operationId of the batch operation, of the same tag</li>
+   * <li><code>parameter</code>: the batched parameter, defaults to the only required parameter</li>
+   * <li><code>requestProperty</code>: the property of the batch body holding the keys, defaults to the body itself</li>
+   * <li><code>responseProperty</code>: the property of the batch response holding the results, defaults to the response itself</li>
+   * <li><code>key</code>: the property of a result holding its key, the results are in the order of the keys without it</li>
+   * </ul>
+   *
+   * @param op  the single item operation
+   * @param ops the operations of the tag
+   * @return what the template needs to batch the calls, <code>null</code> if the extension is invalid
+   */
+  private Map<String, Object> linkBatchOperation(CodegenOperation op, List<CodegenOperation> ops) {
+    Object extension = op.vendorExtensions.get(X_BATCH);
+    Map<?, ?> spec = extension instanceof Map ? (Map<?, ?>) extension : Collections.singletonMap("operation", extension);
+    String operationId = spec.get("operation") == null ? null : spec.get("operation").toString();
+    CodegenOperation batchOp = null;
+    for (CodegenOperation candidate : ops) {
+      if (candidate != op && (candidate.operationId.equals(operationId) || candidate.nickname.equals(operationId))) {
+        batchOp = candidate;
+      }
+    }
+    if (batchOp == null || batchOp.bodyParam == null) {
+      LOGGER.warn("Ignoring {} of operation {}: '{}' must be an operation of the same tag with a request body",
+              X_BATCH, op.operationId, operationId);
+      return null;
+    }
+    for (CodegenParameter param : batchOp.allParams) {
+      if (param.required && !param.isBodyParam) {
+        LOGGER.warn("Ignoring {} of operation {}: the batch operation {} has required parameters besides its body",
+                X_BATCH, op.operationId, batchOp.operationId);
+        return null;
+      }
+    }
+
+    String parameter = spec.get("parameter") == null ? null : spec.get("parameter").toString();
+    CodegenParameter keyParam = null;
+    for (CodegenParameter param : op.allParams) {
+      if (parameter != null ? parameter.equals(param.baseName) || parameter.equals(param.paramName) : param.required) {
+        if (keyParam != null && parameter == null) {
+          keyParam = null;
+          break;
+        }
+        keyParam = param;
+      }
+    }
+    if (keyParam == null || keyParam.isArray || keyParam.isModel || keyParam.isBodyParam) {
+      LOGGER.warn("Ignoring {} of operation {}: set the batched 'parameter', a single primitive parameter of the operation",
+              X_BATCH, op.operationId);
+      return null;
+    }
+
+    // only the calls that the batch request answers the same way are batched
+    StringBuilder condition = new StringBuilder("observe === 'body' && !options");
+    for (CodegenParameter param : op.allParams) {
+      if (param != keyParam) {
+        condition.append(" && ").append(param.paramName).append(" === undefined");
+      }
+    }
+
+    String requestProperty = spec.get("requestProperty") == null ? null : spec.get("requestProperty").toString();
+    String body = requestProperty == null ? "<any>localVarKeys" : "<any>{'" + escapeQuotes(requestProperty) + "': localVarKeys}";
+    String arguments;
+    if (getUseSingleRequestParameter()) {
+      arguments = "{" + batchOp.bodyParam.paramName + ": " + body + "}";
+    } else {
+      List<String> positional = new ArrayList<>();
+      for (CodegenParameter param : batchOp.allParams) {
+        positional.add(param.isBodyParam ? body : "undefined");
+      }
+      while (!positional.isEmpty() && "undefined".equals(positional.get(positional.size() - 1))) {
+        positional.remove(positional.size() - 1);
+      }
+      arguments = String.join(", ", positional);
+    }
+
+    Map<String, Object> batch = new HashMap<>();
+    batch.put("batchCondition", condition.toString());
+    batch.put("batchKey", keyParam.paramName);
+    batch.put("batchKeyType", keyParam.dataType);
+    batch.put("batchInvocation", functionalApi
+            ? batchOp.nickname + ".call(this, " + arguments + ")"
+            : "this." + batchOp.nickname + "(" + arguments + ")");
+    if (spec.get("responseProperty") != null) {
+      batch.put("batchResultsProperty", escapeQuotes(spec.get("responseProperty").toString()));
+    }
+    if (spec.get("key") != null) {
+      batch.put("batchKeyProperty", escapeQuotes(spec.get("key").toString()));
+    }
+    return batch;
+  }
+
+  static String escapeQuotes(String value) {
+    return value.replace("\\", "\\\\").replace("'", "\\'");
+  }
+
+  /**
+   * Converts the <code>x-resilience</code> of an operation to an OperationResiliencePolicy literal: an object with
+   * <code>retry</code>, <code>circuitBreaker</code> and <code>idempotent</code>, or <code>false</code> to turn both
+   * retries and circuit breaking off.
+   *
+   * @return the literal, <code>undefined</code> for the policy of the Configuration
+   */
+  private String getResiliencePolicy(CodegenOperation op) {
+    Object policy = op.vendorExtensions.get(X_RESILIENCE);
+    if (policy == null) {
+      return "undefined";
+    }
+    if (Boolean.FALSE.equals(policy)) {
+      return "{retry: false, circuitBreaker: false}";
+    }
+    if (!(policy instanceof Map) || !RESILIENCE_POLICY_KEYS.containsAll(((Map<?, ?>) policy).keySet())) {
+      LOGGER.warn("Ignoring {} of operation {}: expected false or an object with {}", X_RESILIENCE, op.operationId, RESILIENCE_POLICY_KEYS);
+      return "undefined";
+    }
+    try {
+      // a JSON object is a valid TypeScript literal
+      return Json.mapper().writeValueAsString(policy);
+    } catch (JsonProcessingException e) {
+      LOGGER.warn("Ignoring {} of operation {}: {}", X_RESILIENCE, op.operationId, e.getMessage());
+      return "undefined";
+    }
+  }
+
+  /**
+   * Decodes the typed responses of an operation producing CBOR or MessagePack with the codecs of the Configuration,
+   * and encodes its typed request body in the first of them it consumes. The compact formats are accepted first, the
+   * others with a lower quality.
+   *
+   * @return whether the operation uses the codecs
+   */
+  private boolean addBinaryCodecs(CodegenOperation op) {
+    boolean binary = false;
+    if (op.returnType != null && !op.isResponseFile && op.produces != null) {
+      List<String> compact = new ArrayList<>();
+      List<String> others = new ArrayList<>();
+      for (Map<String, String> produces : op.produces) {
+        String mediaType = produces.get("mediaType");
+        if (BINARY_CODEC_MEDIA_TYPES.contains(mediaType.toLowerCase(Locale.ROOT))) {
+          compact.add(mediaType);
+        } else {
+          others.add(mediaType + ";q=0.9");
+        }
+      }
+      if (!compact.isEmpty()) {
+        compact.addAll(others);
+        op.vendorExtensions.put(X_BINARY_ACCEPT, escapeQuotes(String.join(", ", compact)));
+        op.vendorExtensions.put(X_BINARY_RESPONSE, true);
+        op.vendorExtensions.put(X_ARRAYBUFFER_RESPONSE, true);
+        binary = true;
+      }
+    }
+    if (op.bodyParam != null && !op.bodyParam.isBinary && !op.bodyParam.isFile && op.consumes != null) {
+      for (Map<String, String> consumes : op.consumes) {
+        String mediaType = consumes.get("mediaType");
+        if (!op.vendorExtensions.containsKey(X_BINARY_REQUEST) && BINARY_CODEC_MEDIA_TYPES.contains(mediaType.toLowerCase(Locale.ROOT))) {
+          // sent in the first compact format consumed
+          op.vendorExtensions.put(X_BINARY_REQUEST, escapeQuotes(mediaType));
+          // also read in the body parameter section of the template
+          op.bodyParam.vendorExtensions.put(X_BINARY_REQUEST, escapeQuotes(mediaType));
+          binary = true;
+        }
+      }
+    }
+    return binary;
+  }
+
+  /**
+   * Reads the <code>x-parse-in-worker</code> of an operation, or else its <code>x-response-size-hint</code> in bytes.
+   * The responses of the binary media types are decoded by the codecs instead.
+   *
+   * @param op the operation
+   * @return the WorkerParseOptions literal of an operation whose responses are parsed in the worker, <code>null</code> if they are not
+   */
+  private String getWorkerParseOptions(CodegenOperation op) {
+    Object flag = op.vendorExtensions.get(X_PARSE_IN_WORKER);
+    Object sizeHint = op.vendorExtensions.get(X_RESPONSE_SIZE_HINT);
+    boolean parseInWorker = false;
+    if (flag != null) {
+      parseInWorker = Boolean.parseBoolean(flag.toString().trim());
+    } else if (sizeHint != null) {
+      try {
+        parseInWorker = Double.parseDouble(sizeHint.toString().trim()) >= WORKER_SIZE_HINT_THRESHOLD;
+      } catch (NumberFormatException e) {
+        LOGGER.warn("Ignoring invalid {} '{}' of operation {}, it must be a number of bytes", X_RESPONSE_SIZE_HINT, sizeHint, op.operationId);
+      }
+    }
+    if (!parseInWorker || op.returnType == null || op.isResponseFile) {
+      return null;
+    }
+    if (op.vendorExtensions.containsKey(X_BINARY_RESPONSE)) {
+      LOGGER.info("The responses of operation {} are decoded by the codecs, not parsed in the worker", op.operationId);
+      return null;
+    }
+    List<String> options = new ArrayList<>();
+    if (workerModels.contains(op.returnBaseType)) {
+      options.add("model: '" + op.returnBaseType + "'");
+      if (op.returnContainer != null) {
+        options.add("container: '" + ("map".equals(op.returnContainer) ? "map" : "array") + "'");
+      }
+      if (generateValidators) {
+        options.add("validate: this.configuration.validateResponses");
+      }
+    }
+    return options.isEmpty() ? "{}" : "{ " + String.join(", ", options) + " }";
+  }
+
+  /**
+   * Detects a cursor paginated operation: from its <code>x-pagination</code>, either <code>true</code>,
+   * <code>false</code> or an object with the <code>cursorParam</code> query parameter and the <code>nextField</code>
+   * (a dotted path) of the response holding the cursor of the next page, or else from the naming convention when
+   * cursorPagination is enabled. The operation must return a model.
+   *
+   * @return what the ...Pages companion method needs, <code>null</code> if the operation is not paginated
+   */
+  private Map<String, Object> getPagination(CodegenOperation op) {
+    Object extension = op.vendorExtensions.get(X_PAGINATION);
+    if (extension == null ? !cursorPagination : "false".equalsIgnoreCase(extension.toString().trim())) {
+      return null;
+    }
+    String cursorName = null;
+    String nextField = null;
+    if (extension instanceof Map) {
+      Map<?, ?> settings = (Map<?, ?>) extension;
+      cursorName = settings.get("cursorParam") == null ? null : settings.get("cursorParam").toString();
+      nextField = settings.get("nextField") == null ? null : settings.get("nextField").toString();
+    } else if (extension != null && !"true".equalsIgnoreCase(extension.toString().trim())) {
+      LOGGER.warn("Ignoring invalid {} '{}' of operation {}, it must be true, false or an object with cursorParam and nextField",
+              X_PAGINATION, extension, op.operationId);
+      return null;
+    }
+
+    CodegenParameter cursor = null;
+    for (CodegenParameter param : op.allParams) {
+      if (param.isQueryParam && (cursorName != null ? cursorName.equals(param.baseName) : paginationCursorParams.contains(param.baseName))) {
+        cursor = param;
+        break;
+      }
+    }
+    boolean page = op.returnType != null && op.returnContainer == null && pageNextFields.containsKey(op.returnBaseType);
+    if (nextField == null && page) {
+      nextField = pageNextFields.get(op.returnBaseType);
+    }
+    if (cursor == null || !page || nextField == null) {
+      if (extension != null) {
+        LOGGER.warn("Ignoring {} of operation {}, it needs a cursor query parameter and a response model with the cursor of the next page",
+                X_PAGINATION, op.operationId);
+      }
+      return null;
+    }
+
+    // read in the parameter sections of the template
+    cursor.vendorExtensions.put(X_PAGINATION_CURSOR, true);
+    List<String> nextPath = new ArrayList<>();
+    for (String segment : nextField.split("\\.")) {
+      nextPath.add("'" + escapeQuotes(segment) + "'");
+    }
+    Map<String, Object> pages = new HashMap<>();
+    pages.put("paginationCursorParam", cursor.paramName);
+    pages.put("paginationCursorName", escapeQuotes(cursor.baseName));
+    pages.put("paginationNextPath", String.join(", ", nextPath));
+    return pages;
+  }
+
+  /**
+   * @return the property of the model named after paginationNextFields, <code>null</code> if there is none
+   */
+  private String getPageNextField(CodegenModel cm) {
+    for (CodegenProperty p : cm.allVars) {
+      if (paginationNextFields.contains(p.baseName) && !p.isArray && !p.isMap && !p.isModel) {
+        return p.baseName;
+      }
+    }
+    return null;
+  }
+
+  private static List<String> splitNames(String names) {
+    List<String> result = new ArrayList<>();
+    for (String name : names.split(",")) {
+      if (!name.trim().isEmpty()) {
+        result.add(name.trim());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Lists the credentials of an operation, left out of the key of its stored responses: they change with every sign
+   * in or token refresh, the partition of the offline store separates the users instead.
+   *
+   * @return the lower case <code>offlineCredentialHeaders</code> literals, Authorization always included, and the
+   * <code>offlineCredentialQuery</code> removing the api keys sent in the query
+   */
+  private Map<String, Object> getOfflineRequestKey(CodegenOperation op) {
+    Set<String> headers = new TreeSet<>();
+    headers.add("authorization");
+    Set<String> queryParams = new LinkedHashSet<>();
+    if (op.authMethods != null) {
+      for (CodegenSecurity security : op.authMethods) {
+        if (Boolean.TRUE.equals(security.isApiKey) && Boolean.TRUE.equals(security.isKeyInHeader)) {
+          headers.add(security.keyParamName.toLowerCase(Locale.ROOT));
+        } else if (Boolean.TRUE.equals(security.isApiKey) && Boolean.TRUE.equals(security.isKeyInQuery)) {
+          queryParams.add(security.keyParamName);
+        }
+      }
+    }
+    List<String> headerLiterals = new ArrayList<>();
+    for (String header : headers) {
+      headerLiterals.add("'" + escapeQuotes(header) + "'");
+    }
+    StringBuilder query = new StringBuilder();
+    for (String queryParam : queryParams) {
+      query.append(".delete('").append(escapeQuotes(queryParam)).append("')");
+    }
+    Map<String, Object> requestKey = new HashMap<>();
+    requestKey.put("offlineCredentialHeaders", String.join(", ", headerLiterals));
+    if (query.length() > 0) {
+      requestKey.put("offlineCredentialQuery", query.toString());
+    }
+    return requestKey;
+  }
+
+  /**
+   * Reads the <code>x-offline</code> of a GET operation: <code>true</code> (the default), <code>false</code>, or an
+   * object with the <code>freshFor</code> and <code>staleFor</code> of its stored responses in seconds.
+   *
+   * @param op the operation
+   * @return the OfflinePolicy literal of the operation, <code>null</code> if its responses are not stored
+   */
+  private String getOfflinePolicy(CodegenOperation op) {
+    Object offline = op.vendorExtensions.get(X_OFFLINE);
+    if (op.returnType == null || op.isResponseFile || (offline != null && "false".equalsIgnoreCase(offline.toString().trim()))) {
+      return null;
+    }
+    if (offline == null || "true".equalsIgnoreCase(offline.toString().trim())) {
+      return "{}";
+    }
+    if (offline instanceof Map) {
+      List<String> policy = new ArrayList<>();
+      for (String setting : Arrays.asList("freshFor", "staleFor")) {
+        Object seconds = ((Map<?, ?>) offline).get(setting);
+        if (seconds == null) {
+          continue;
+        }
+        try {
+          long millis = Math.round(Double.parseDouble(seconds.toString().trim()) * 1000);
+          if (millis >= 0) {
+            policy.add(setting + ": " + millis);
+            continue;
+          }
+        } catch (NumberFormatException e) {
+          // reported below
+        }
+        LOGGER.warn("Ignoring invalid {} {} '{}' of operation {}, it must be a number of seconds", X_OFFLINE, setting, seconds, op.operationId);
+      }
+      return policy.isEmpty() ? "{}" : "{ " + String.join(", ", policy) + " }";
+    }
+    LOGGER.warn("Ignoring invalid {} '{}' of operation {}, it must be true, false or an object with freshFor and staleFor",
+            X_OFFLINE, offline, op.operationId);
+    return null;
+  }
+
+  /**
+   * Reads the <code>x-cache-ttl</code> of an operation.
+   *
+   * @param op the operation
+   * @return the time to live of its responses in milliseconds, <code>null</code> if they are not cached
+   */
+  private Long getResponseCacheTtl(CodegenOperation op) {
+    Object ttl = op.vendorExtensions.get(X_CACHE_TTL);
+    if (ttl == null) {
+      return null;
+    }
+    try {
+      long millis = Math.round(Double.parseDouble(ttl.toString().trim()) * 1000);
+      if (millis > 0) {
+        return millis;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    LOGGER.warn("Ignoring invalid {} '{}' of operation {}, it must be a positive number of seconds", X_CACHE_TTL, ttl, op.operationId);
+    return null;
+  }
+
   @Override
   public ModelsMap postProcessModels(ModelsMap objs) {
-    ModelsMap result = super.postProcessModels(objs);
-    return postProcessModelsEnum(result);
+    GenerationMetrics.Sample start = startPhase();
+    ModelsMap result = postProcessModelsEnum(super.postProcessModels(objs));
+    endPhase("postProcessModels", start, result.getModels().size());
+    return result;
   }
 
   @Override
   public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+    GenerationMetrics.Sample start = startPhase();
     Map<String, ModelsMap> result = super.postProcessAllModels(objs);
+    if (generateValidators) {
+      List<String> classnames = new ArrayList<>();
+      for (ModelsMap entry : result.values()) {
+        for (ModelMap mo : entry.getModels()) {
+          classnames.add(mo.getModel().classname);
+        }
+      }
+      modelValidators = new ModelValidators(classnames);
+    }
+    if (workerTransport) {
+      workerModels = new HashSet<>();
+      for (ModelsMap entry : result.values()) {
+        for (ModelMap mo : entry.getModels()) {
+          workerModels.add(mo.getModel().classname);
+        }
+      }
+      // read by the responseParsing.ts supporting file
+      additionalProperties.put("workerRevivers", getWorkerRevivers(result));
+    }
+    // one import entry per class name, shared by all the models importing it
+    Map<String, Map<String, String>> tsImportIndex = new HashMap<>();
     for (ModelsMap entry : result.values()) {
       for (ModelMap mo : entry.getModels()) {
         CodegenModel cm = mo.getModel();
@@ -508,6 +1672,7 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
               cm.imports.add(child.classname);
               setChildDiscriminatorValue(cm, child);
             }
+            mo.put("discriminatorDispatch", getDiscriminatorDispatch(cm));
           }
 
           // with tagged union, a child model doesn't extend the parent (all properties are just copied over)
@@ -524,14 +1689,202 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
 
           }
         }
+        if (cm.vendorExtensions.containsKey(X_COLUMNAR) && Boolean.parseBoolean(cm.vendorExtensions.get(X_COLUMNAR).toString().trim())) {
+          Map<String, Object> columnar = getColumnarModel(cm);
+          if (columnar != null) {
+            cm.vendorExtensions.put(X_COLUMNAR_MODEL, columnar);
+            columnarModels.add(cm.classname);
+          }
+        }
+        if (modelValidators != null) {
+          cm.vendorExtensions.put(ModelValidators.X_VALIDATOR, modelValidators.validator(cm, taggedUnions));
+        }
+        pageNextFields.put(cm.classname, getPageNextField(cm));
         // Add additional filename information for imports
         Set<String> parsedImports = parseImports(cm);
-        mo.put("tsImports", toTsImports(cm, parsedImports));
+        mo.put("tsImports", toTsImports(cm, parsedImports, tsImportIndex));
+        if (modelBarrels != null) {
+          modelBarrels.addModel(cm.classname, parsedImports);
+        }
+
+        if (incrementalManifest != null) {
+          entry.put(INCREMENTAL_FINGERPRINT, getSpecFingerprints().model(cm));
+        }
       }
     }
+    if (!columnarModels.isEmpty() && !additionalProperties.containsKey("hasColumnarModels")) {
+      additionalProperties.put("hasColumnarModels", true);
+      supportingFiles.add(new SupportingFile("columnar.mustache", getIndexDirectory(), "columnar.ts"));
+    }
+    if (!parallelModelTemplateFiles.isEmpty()) {
+      parallelModels.putAll(result);
+    }
+    if (isLowMemoryGeneration()) {
+      // the model files are all written before the first tag is processed
+      writtenModels = result;
+    }
+    endPhase("postProcessAllModels", start, result.size());
     return result;
   }
 
+  /**
+   * Lays out a model with <code>x-columnar</code> in one typed array per property: an Int32Array for the required
+   * int32 properties, a Float64Array holding NaN for the missing values otherwise, exact for the int64 timestamps.
+   *
+   * @return the columns of the model, <code>null</code> if it is not a flat object of numbers
+   */
+  private Map<String, Object> getColumnarModel(CodegenModel cm) {
+    boolean flat = !cm.isEnum && !cm.isAlias && cm.discriminator == null && (cm.oneOf == null || cm.oneOf.isEmpty())
+            && !cm.allVars.isEmpty();
+    List<Map<String, Object>> columns = new ArrayList<>();
+    for (CodegenProperty p : cm.allVars) {
+      String member = p.name.startsWith("'") ? p.name.substring(1, p.name.length() - 1) : p.name;
+      if (!flat || !p.isNumeric || p.isEnum || p.isArray || p.isMap || COLUMNAR_MEMBERS.contains(member)) {
+        flat = false;
+        break;
+      }
+      boolean present = p.required && !p.isNullable;
+      Map<String, Object> column = new HashMap<>();
+      column.put("index", columns.size());
+      column.put("key", escapeQuotes(p.baseName));
+      column.put("name", p.name);
+      column.put("access", p.name.startsWith("'") ? "[" + p.name + "]" : "." + p.name);
+      column.put("arrayType", present && "int32".equals(p.dataFormat) ? "Int32Array" : "Float64Array");
+      column.put("present", present);
+      column.put("missing", p.isNullable ? "null" : "undefined");
+      columns.add(column);
+    }
+    if (!flat) {
+      LOGGER.warn("Ignoring {} of model {}, only the objects with number properties not named {} are columnar",
+              X_COLUMNAR, cm.classname, COLUMNAR_MEMBERS);
+      return null;
+    }
+    Map<String, Object> columnar = new HashMap<>();
+    columnar.put("columns", columns);
+    return columnar;
+  }
+
+  /**
+   * Finds the models holding dates, directly or through the models of their properties or of their discriminator
+   * mapping, for the worker reviving the dates of the response bodies.
+   *
+   * @return per model holding dates: the names of its Date properties, its properties holding such models and the
+   * models of its discriminator values
+   */
+  private List<Map<String, Object>> getWorkerRevivers(Map<String, ModelsMap> models) {
+    List<CodegenModel> all = new ArrayList<>();
+    for (ModelsMap entry : models.values()) {
+      for (ModelMap mo : entry.getModels()) {
+        all.add(mo.getModel());
+      }
+    }
+    Set<String> revived = new HashSet<>();
+    for (CodegenModel cm : all) {
+      for (CodegenProperty p : cm.allVars) {
+        if ("Date".equals(innerProperty(p).dataType)) {
+          revived.add(cm.classname);
+          break;
+        }
+      }
+    }
+    // the models referencing a revived model are revived too, until no model is added
+    boolean added = true;
+    while (added) {
+      added = false;
+      for (CodegenModel cm : all) {
+        if (!revived.contains(cm.classname) && referencesRevived(cm, revived)) {
+          revived.add(cm.classname);
+          added = true;
+        }
+      }
+    }
+
+    List<Map<String, Object>> revivers = new ArrayList<>();
+    for (CodegenModel cm : all) {
+      if (!revived.contains(cm.classname)) {
+        continue;
+      }
+      List<String> dates = new ArrayList<>();
+      List<Map<String, Object>> properties = new ArrayList<>();
+      for (CodegenProperty p : cm.allVars) {
+        CodegenProperty inner = innerProperty(p);
+        if ("Date".equals(inner.dataType)) {
+          dates.add(escapeQuotes(p.baseName));
+        } else if (revived.contains(inner.complexType)) {
+          Map<String, Object> property = new HashMap<>();
+          property.put("name", escapeQuotes(p.baseName));
+          property.put("model", inner.complexType);
+          property.put("map", p.isMap);
+          properties.add(property);
+        }
+      }
+      List<Map<String, String>> cases = getRevivedMappings(cm, revived);
+      Map<String, Object> reviver = new HashMap<>();
+      reviver.put("model", cm.classname);
+      reviver.put("dates", dates);
+      reviver.put("properties", properties);
+      reviver.put("union", !cases.isEmpty());
+      reviver.put("discriminator", cases.isEmpty() ? "" : escapeQuotes(cm.discriminator.getPropertyBaseName()));
+      reviver.put("cases", cases);
+      revivers.add(reviver);
+    }
+    return revivers;
+  }
+
+  private static boolean referencesRevived(CodegenModel cm, Set<String> revived) {
+    for (CodegenProperty p : cm.allVars) {
+      if (revived.contains(innerProperty(p).complexType)) {
+        return true;
+      }
+    }
+    return !getRevivedMappings(cm, revived).isEmpty();
+  }
+
+  /**
+   * @return the discriminator values of a model mapped to a revived model
+   */
+  private static List<Map<String, String>> getRevivedMappings(CodegenModel cm, Set<String> revived) {
+    List<Map<String, String>> cases = new ArrayList<>();
+    if (cm.discriminator != null && cm.discriminator.getMappedModels() != null) {
+      for (CodegenDiscriminator.MappedModel mapped : cm.discriminator.getMappedModels()) {
+        if (!mapped.getModelName().equals(cm.classname) && revived.contains(mapped.getModelName())) {
+          Map<String, String> entry = new HashMap<>();
+          entry.put("value", escapeQuotes(mapped.getMappingName()));
+          entry.put("model", mapped.getModelName());
+          cases.add(entry);
+        }
+      }
+    }
+    return cases;
+  }
+
+  /**
+   * @return the items of an array or map property, the property itself otherwise
+   */
+  private static CodegenProperty innerProperty(CodegenProperty p) {
+    return (p.isArray || p.isMap) && p.items != null ? p.items : p;
+  }
+
+  /**
+   * @return the child model of every mapping value of a tagged union, for its lookup tables
+   */
+  private List<Map<String, String>> getDiscriminatorDispatch(CodegenModel parent) {
+    Set<String> children = new HashSet<>();
+    for (CodegenModel child : parent.children) {
+      children.add(child.classname);
+    }
+    List<Map<String, String>> dispatch = new ArrayList<>();
+    for (CodegenDiscriminator.MappedModel mappedModel : parent.discriminator.getMappedModels()) {
+      if (children.contains(mappedModel.getModelName())) {
+        Map<String, String> entry = new HashMap<>();
+        entry.put("mappingName", escapeQuotes(mappedModel.getMappingName()));
+        entry.put("modelName", mappedModel.getModelName());
+        dispatch.add(entry);
+      }
+    }
+    return dispatch;
+  }
+
   private void setChildDiscriminatorValue(CodegenModel parent, CodegenModel child) {
     if (
             child.vendorExtensions.isEmpty() ||
@@ -552,32 +1905,46 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
   }
 
   /**
-   * Parse imports
+   * Parse imports, splitting the union types (<code>A | B</code>) into their members
    */
   private Set<String> parseImports(CodegenModel cm) {
     Set<String> newImports = new HashSet<>();
-    if (cm.imports.size() > 0) {
-      for (String name : cm.imports) {
-        if (name.indexOf(" | ") >= 0) {
-          String[] parts = name.split(" \\| ");
-          Collections.addAll(newImports, parts);
-        } else {
-          newImports.add(name);
-        }
+    for (String name : cm.imports) {
+      int start = 0;
+      int separator;
+      while ((separator = name.indexOf(" | ", start)) >= 0) {
+        addParsedImport(newImports, name.substring(start, separator));
+        start = separator + 3;
       }
+      addParsedImport(newImports, start == 0 ? name : name.substring(start));
     }
     return newImports;
   }
 
-  private List<Map<String, String>> toTsImports(CodegenModel cm, Set<String> imports) {
-    List<Map<String, String>> tsImports = new ArrayList<>();
+  private static void addParsedImport(Set<String> imports, String name) {
+    if (!name.isEmpty()) {
+      imports.add(name);
+    }
+  }
+
+  /**
+   * @param tsImportIndex the import entries resolved so far in this run, by class name
+   */
+  private List<Map<String, String>> toTsImports(CodegenModel cm, Set<String> imports,
+                                                Map<String, Map<String, String>> tsImportIndex) {
+    List<Map<String, String>> tsImports = new ArrayList<>(imports.size());
     for (String im : imports) {
       if (!im.equals(cm.classname)) {
-        HashMap<String, String> tsImport = new HashMap<>();
-        // TVG: This is used as class name in the import statements of the model file
-        tsImport.put("classname", im);
-        tsImport.put("filename", toModelFilename(removeModelPrefixSuffix(im)));
-        tsImports.add(tsImport);
+        tsImports.add(tsImportIndex.computeIfAbsent(im, classname -> {
+          HashMap<String, String> tsImport = new HashMap<>();
+          // TVG: This is used as class name in the import statements of the model file
+          tsImport.put("classname", classname);
+          tsImport.put("filename", toModelFilename(removeModelPrefixSuffix(classname)));
+          if (modelValidators != null && modelValidators.hasValidator(classname)) {
+            tsImport.put(HAS_VALIDATOR, "true");
+          }
+          return Collections.unmodifiableMap(tsImport);
+        }));
       }
     }
     return tsImports;
@@ -596,7 +1963,7 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
     if (name.length() == 0) {
       return "default.service";
     }
-    return this.convertUsingFileNamingConvention(name) + serviceFileSuffix;
+    return cachedName("apiFilename", name, () -> this.convertUsingFileNamingConvention(name) + serviceFileSuffix);
   }
 
   @Override
@@ -612,7 +1979,8 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
     if (importMapping.containsKey(name)) {
       return importMapping.get(name);
     }
-    return DEFAULT_IMPORT_PREFIX + this.convertUsingFileNamingConvention(super.toModelFilename(name)) + modelFileSuffix;
+    return cachedName("modelFilename", name,
+            () -> DEFAULT_IMPORT_PREFIX + this.convertUsingFileNamingConvention(super.toModelFilename(name)) + modelFileSuffix);
   }
 
   @Override
@@ -620,7 +1988,8 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
     if (importMapping.containsKey(name)) {
       return importMapping.get(name);
     }
-    return DEFAULT_MODEL_IMPORT_DIRECTORY_PREFIX + modelPackage() + "/" + toModelFilename(removeModelPrefixSuffix(name)).substring(DEFAULT_IMPORT_PREFIX.length());
+    return cachedName("modelImport", name, () -> DEFAULT_MODEL_IMPORT_DIRECTORY_PREFIX + modelPackage() + "/"
+            + toModelFilename(removeModelPrefixSuffix(name)).substring(DEFAULT_IMPORT_PREFIX.length()));
   }
 
   public String getNpmRepository() {
@@ -651,6 +2020,10 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
   }
 
   public String removeModelPrefixSuffix(String name) {
+    return cachedName("withoutModelPrefixSuffix", name, () -> removeModelPrefixSuffixUncached(name));
+  }
+
+  private String removeModelPrefixSuffixUncached(String name) {
     String result = name;
     if (modelSuffix.length() > 0 && result.endsWith(modelSuffix)) {
       result = result.substring(0, result.length() - modelSuffix.length());
@@ -751,6 +2124,10 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
    * @return the transformed name
    */
   private String convertUsingFileNamingConvention(String originalName) {
+    return cachedName("fileNamingConvention", originalName, () -> convertUsingFileNamingConventionUncached(originalName));
+  }
+
+  private String convertUsingFileNamingConventionUncached(String originalName) {
     String name = this.removeModelPrefixSuffix(originalName);
     if ("kebab-case".equals(fileNaming)) {
       name = dashize(underscore(name));
@@ -784,4 +2161,334 @@ public class CustomAngularGenerator extends AbstractTypeScriptClientCodegen impl
   private boolean getIsProvidedInNone() {
     return CustomAngularGenerator.PROVIDED_IN_LEVEL.none.equals(providedIn);
   }
+
+  /**
+   * Set the number of threads the api and model templates are rendered with.
+   *
+   * @param threads the number of threads, at least 1
+   */
+  public void setGeneratorThreads(String threads) {
+    try {
+      generatorThreads = Integer.parseInt(threads.trim());
+    } catch (NumberFormatException e) {
+      generatorThreads = 0;
+    }
+    if (generatorThreads < 1) {
+      throw new IllegalArgumentException("Invalid generatorThreads '" + threads + "'. Must be a positive number.");
+    }
+  }
+
+  /**
+   * Renders the api templates of all tags and the model templates of all models on the thread pool.
+   * The bundles are complete at this point: the generator has processed every tag and model.
+   */
+  private void renderInParallel(Map<String, Object> supportingFileData) {
+    ParallelTemplateRenderer renderer = new ParallelTemplateRenderer(this, generatorThreads);
+    Object apiInfo = supportingFileData.get("apiInfo");
+    if (apiInfo instanceof ApiInfoMap && ((ApiInfoMap) apiInfo).getApis() != null) {
+      for (OperationsMap operations : ((ApiInfoMap) apiInfo).getApis()) {
+        String tag = (String) operations.get("baseName");
+        for (String templateFile : parallelApiTemplateFiles.keySet()) {
+          renderer.add(operations, templateFile, new File(getApiOutputFilename(templateFile, tag)), "api");
+        }
+      }
+    }
+    for (Map.Entry<String, ModelsMap> models : parallelModels.entrySet()) {
+      // skipped by the generator as well
+      List<ModelMap> modelList = models.getValue().getModels();
+      if (schemaMapping().containsKey(models.getKey()) || modelList == null || modelList.isEmpty()
+              || modelList.get(0).getModel() == null || modelList.get(0).getModel().isAlias) {
+        continue;
+      }
+      for (String templateFile : parallelModelTemplateFiles.keySet()) {
+        renderer.add(models.getValue(), templateFile, new File(getModelOutputFilename(templateFile, models.getKey())), "model");
+      }
+    }
+
+    try {
+      parallelFiles.addAll(renderer.renderAndWrite());
+    } catch (IOException e) {
+      throw new RuntimeException("Could not generate the api and model files", e);
+    }
+  }
+
+  private File getFilesMetadataFile() {
+    return new File(getOutputDir(), ".openapi-generator" + File.separator + getFilesMetadataFilename());
+  }
+
+  private void snapshotFilesMetadata() {
+    File metadata = getFilesMetadataFile();
+    if (metadata.isFile()) {
+      try {
+        filesMetadataSnapshot = Files.readAllBytes(metadata.toPath());
+        filesMetadataSnapshotTime = Files.getLastModifiedTime(metadata.toPath());
+      } catch (IOException e) {
+        filesMetadataSnapshot = null;
+      }
+    }
+  }
+
+  /**
+   * Adds the files rendered in parallel to the FILES metadata the generator wrote without them.
+   */
+  private void addToFilesMetadata(List<File> files) {
+    File metadata = getFilesMetadataFile();
+    if (!metadata.isFile()) {
+      return;
+    }
+    try {
+      Path outputDir = new File(getOutputDir()).getAbsoluteFile().toPath();
+      Set<String> paths = new TreeSet<>();
+      for (String line : Files.readAllLines(metadata.toPath(), StandardCharsets.UTF_8)) {
+        if (!line.isEmpty()) {
+          paths.add(line);
+        }
+      }
+      for (File file : files) {
+        paths.add(outputDir.relativize(file.getAbsoluteFile().toPath()).normalize().toString().replace(File.separatorChar, '/'));
+      }
+      StringBuilder sb = new StringBuilder();
+      for (String path : paths) {
+        sb.append(path).append(System.lineSeparator());
+      }
+      byte[] content = sb.toString().getBytes(StandardCharsets.UTF_8);
+      Files.write(metadata.toPath(), content);
+      if (filesMetadataSnapshotTime != null && Arrays.equals(content, filesMetadataSnapshot)) {
+        // unchanged compared to the previous run, keep it untouched for minimal update
+        Files.setLastModifiedTime(metadata.toPath(), filesMetadataSnapshotTime);
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Failed to add the api and model files to the FILES metadata.");
+    }
+  }
+
+  /**
+   * Converts a name through the naming cache.
+   *
+   * @param kind    the kind of conversion
+   * @param name    the name to convert
+   * @param convert the uncached conversion
+   * @return the converted name
+   */
+  private String cachedName(String kind, String name, Supplier<String> convert) {
+    return namingCache.get(Arrays.asList(kind, name, fileNaming, serviceFileSuffix, modelSuffix, modelFileSuffix,
+            modelNamePrefix, modelNameSuffix, modelPackage), convert);
+  }
+
+  /**
+   * @return the number of file and import names that were taken from the naming cache in this run
+   */
+  public long getNamingCacheHits() {
+    return namingCache.getHits();
+  }
+
+  /**
+   * @return the number of file and import names that had to be converted in this run
+   */
+  public long getNamingCacheMisses() {
+    return namingCache.getMisses();
+  }
+
+  /**
+   * The compiled templates shared by all runs of the generator in this JVM.
+   *
+   * @return the process-wide template cache
+   */
+  public static CompiledTemplateCache getCompiledTemplateCache() {
+    return TEMPLATE_CACHE;
+  }
+
+  /**
+   * The metrics of the current run, <code>null</code> if they are not recorded.
+   */
+  GenerationMetrics getGenerationMetrics() {
+    return generationMetrics;
+  }
+
+  private GenerationMetrics.Sample startPhase() {
+    return generationMetrics == null ? null : generationMetrics.start();
+  }
+
+  private void endPhase(String phase, GenerationMetrics.Sample start, int items) {
+    if (generationMetrics != null) {
+      generationMetrics.record(phase, start, items);
+    }
+  }
+
+  private void writeGenerationMetrics() {
+    File report = new File(new File(getOutputDir(), getIndexDirectory()), GENERATION_METRICS_FILENAME);
+    try {
+      generationMetrics.write(report, getName());
+      LOGGER.info("Generation metrics written to {}", report);
+    } catch (IOException e) {
+      LOGGER.warn("Failed to write the generation metrics to {}: {}", report, e.getMessage());
+    }
+  }
+
+  private boolean isLowMemoryGeneration() {
+    return additionalProperties.containsKey(LOW_MEMORY_GENERATION) && convertPropertyToBoolean(LOW_MEMORY_GENERATION);
+  }
+
+  /**
+   * Drops the data of the written api and model files that the supporting files do not use: they only need the
+   * class and file names. The generator itself keeps references to the operations and models until the end
+   * of the run, so their contents are released instead of the objects.
+   */
+  private void releaseWrittenOutputs() {
+    if (writtenModels != null) {
+      for (ModelsMap models : writtenModels.values()) {
+        for (ModelMap mo : models.getModels()) {
+          mo.remove("tsImports");
+          CodegenModel cm = mo.getModel();
+          cm.vars = new ArrayList<>();
+          cm.allVars = new ArrayList<>();
+          cm.requiredVars = new ArrayList<>();
+          cm.optionalVars = new ArrayList<>();
+          cm.readOnlyVars = new ArrayList<>();
+          cm.readWriteVars = new ArrayList<>();
+          cm.parentVars = new ArrayList<>();
+        }
+      }
+      writtenModels = null;
+    }
+    if (writtenOperations != null) {
+      for (CodegenOperation op : writtenOperations.getOperations().getOperation()) {
+        op.allParams = new ArrayList<>();
+        op.bodyParams = new ArrayList<>();
+        op.pathParams = new ArrayList<>();
+        op.queryParams = new ArrayList<>();
+        op.headerParams = new ArrayList<>();
+        op.formParams = new ArrayList<>();
+        op.cookieParams = new ArrayList<>();
+        op.requiredParams = new ArrayList<>();
+        op.optionalParams = new ArrayList<>();
+        op.responses = new ArrayList<>();
+        op.imports = new HashSet<>();
+        op.bodyParam = null;
+        op.returnProperty = null;
+        op.examples = null;
+      }
+      writtenOperations.getOperations().setOperation(new ArrayList<>());
+      writtenOperations.setImports(new ArrayList<>());
+      writtenOperations = null;
+    }
+  }
+
+  private boolean isIncrementalGeneration() {
+    return additionalProperties.containsKey(INCREMENTAL_GENERATION) && convertPropertyToBoolean(INCREMENTAL_GENERATION);
+  }
+
+  /**
+   * The manifest of the current incremental generation run, <code>null</code> if incremental generation is disabled.
+   */
+  IncrementalGenerationManifest getIncrementalGenerationManifest() {
+    return incrementalManifest;
+  }
+
+  /**
+   * Resolves the output file of an api or model template, the same way the generator does, or of a model barrel.
+   *
+   * @param bundle       the data the template is rendered with
+   * @param templateFile the template
+   * @return the output file, <code>null</code> for supporting files
+   */
+  File getIncrementalGenerationTarget(Map<String, Object> bundle, String templateFile) {
+    if (bundle.get(INCREMENTAL_TARGET) instanceof File) {
+      return (File) bundle.get(INCREMENTAL_TARGET);
+    }
+    if (getApiTemplateSuffix(templateFile) != null && bundle.get("baseName") instanceof String) {
+      return new File(getApiOutputFilename(templateFile, (String) bundle.get("baseName")));
+    }
+    if (getModelTemplateSuffix(templateFile) != null && bundle.get("models") instanceof List) {
+      List<?> models = (List<?>) bundle.get("models");
+      if (models.size() == 1 && models.get(0) instanceof ModelMap) {
+        return new File(getModelOutputFilename(templateFile, ((ModelMap) models.get(0)).getModel().name));
+      }
+    }
+    return null;
+  }
+
+  private String getApiTemplateSuffix(String templateFile) {
+    return apiTemplateFiles.containsKey(templateFile)
+            ? apiTemplateFiles.get(templateFile) : parallelApiTemplateFiles.get(templateFile);
+  }
+
+  private String getModelTemplateSuffix(String templateFile) {
+    return modelTemplateFiles.containsKey(templateFile)
+            ? modelTemplateFiles.get(templateFile) : parallelModelTemplateFiles.get(templateFile);
+  }
+
+  /**
+   * Same as {@link #apiFilename(String, String)}, also for the templates rendered in parallel.
+   */
+  private String getApiOutputFilename(String templateFile, String tag) {
+    return apiFileFolder() + File.separator + toApiFilename(tag) + getApiTemplateSuffix(templateFile);
+  }
+
+  /**
+   * Same as {@link #modelFilename(String, String)}, also for the templates rendered in parallel.
+   */
+  private String getModelOutputFilename(String templateFile, String modelName) {
+    return modelFileFolder() + File.separator + toModelFilename(modelName) + getModelTemplateSuffix(templateFile);
+  }
+
+  /**
+   * The fingerprint of everything but the templates an api or model output is generated from.
+   *
+   * @param bundle the data the template is rendered with
+   * @return the fingerprint, <code>null</code> if the output is not tracked
+   */
+  String getIncrementalGenerationInputs(Map<String, Object> bundle) {
+    Object fingerprint = bundle.get(INCREMENTAL_FINGERPRINT);
+    if (fingerprint == null) {
+      return null;
+    }
+    return getIncrementalOptionsHash() + "|" + fingerprint;
+  }
+
+  private SpecFingerprints getSpecFingerprints() {
+    if (specFingerprints == null) {
+      specFingerprints = new SpecFingerprints(openAPI);
+    }
+    return specFingerprints;
+  }
+
+  private String getIncrementalOptionsHash() {
+    if (incrementalOptionsHash == null) {
+      Map<String, String> options = new TreeMap<>();
+      for (Map.Entry<String, Object> property : additionalProperties.entrySet()) {
+        Object value = property.getValue();
+        if (!INCREMENTAL_VOLATILE_PROPERTIES.contains(property.getKey()) && (value instanceof CharSequence
+                || value instanceof Number || value instanceof Boolean || value instanceof Enum || value instanceof SemVer)) {
+          options.put(property.getKey(), value.toString());
+        }
+      }
+      incrementalOptionsHash = IncrementalGenerationManifest.sha256(getClass().getName()
+              + "|" + ImplementationVersion.read()
+              + "|" + options
+              + "|" + new TreeMap<>(typeMapping)
+              + "|" + new TreeMap<>(importMapping));
+    }
+    return incrementalOptionsHash;
+  }
+
+  private void saveIncrementalGenerationManifest() {
+    // a selective run (only some apis, models or supporting files) must not prune the outputs it did not produce
+    String apis = GlobalSettings.getProperty(CodegenConstants.APIS);
+    String models = GlobalSettings.getProperty(CodegenConstants.MODELS);
+    boolean completeRun = apis == null && models == null
+            ? GlobalSettings.getProperty(CodegenConstants.SUPPORTING_FILES) == null
+            : "".equals(apis) && "".equals(models);
+
+    CodegenIgnoreProcessor ignoreProcessor = getIgnoreFilePathOverride() != null
+            ? new CodegenIgnoreProcessor(new File(getIgnoreFilePathOverride()))
+            : new CodegenIgnoreProcessor(getOutputDir());
+    try {
+      for (File pruned : incrementalManifest.pruneAndSave(completeRun, ignoreProcessor::allowsFile)) {
+        LOGGER.info("Removed {}, its tag or schema does not exist anymore", pruned);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Could not write the incremental generation manifest", e);
+    }
+  }
 }
@@ -0,0 +1,78 @@
+package com.my.company.customgenerator;
+
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+
+/**
+ * Mustache engine of the <code>custom-angular</code> generator.
+ *
+ * Renders exactly like the default {@link MustacheEngineAdapter}, but takes the compiled templates from the
+ * process-wide {@link CompiledTemplateCache} and skips the rendering of API and model outputs whose inputs did
+ * not change since the previous incremental generation run.
+ */
+class CustomAngularMustacheEngineAdapter extends MustacheEngineAdapter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CustomAngularMustacheEngineAdapter.class);
+
+  private final CustomAngularGenerator generator;
+
+  CustomAngularMustacheEngineAdapter(CustomAngularGenerator generator, MustacheEngineAdapter delegate) {
+    this.generator = generator;
+    setCompiler(delegate.getCompiler());
+  }
+
+  @Override
+  public String compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile) throws IOException {
+    GenerationMetrics metrics = generator.getGenerationMetrics();
+    if (metrics == null) {
+      return render(executor, bundle, templateFile);
+    }
+    GenerationMetrics.Sample start = metrics.start();
+    try {
+      return render(executor, bundle, templateFile);
+    } finally {
+      metrics.recordTemplate(templateFile, start);
+    }
+  }
+
+  private String render(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile) throws IOException {
+    CompiledTemplateCache.CachedTemplate template = CustomAngularGenerator.getCompiledTemplateCache()
+            .get(executor, templateFile, generator.getClass().getName(), getCompiler(), getFileExtensions());
+    IncrementalGenerationManifest manifest = generator.getIncrementalGenerationManifest();
+    if (manifest == null) {
+      return execute(template, bundle);
+    }
+    File target = generator.getIncrementalGenerationTarget(bundle, templateFile);
+    String inputs = generator.getIncrementalGenerationInputs(bundle);
+    if (target == null || inputs == null) {
+      return execute(template, bundle);
+    }
+
+    String fingerprint = IncrementalGenerationManifest.sha256(inputs + "|" + template.getContentHash());
+    String content = manifest.reuse(target, fingerprint);
+    if (content == null) {
+      content = execute(template, bundle);
+      manifest.record(target, fingerprint, content);
+    }
+    return content;
+  }
+
+  private String execute(CompiledTemplateCache.CachedTemplate template, Map<String, Object> bundle) {
+    StringWriter out = new StringWriter();
+    // same parent context as the default engine, see DefaultCodegen.processOpts()
+    Object parent = bundle.get(CodegenConstants.MUSTACHE_PARENT_CONTEXT);
+    if (parent == null) {
+      LOGGER.warn("{} not found. super.processOpts needs to be called in processOpts()", CodegenConstants.MUSTACHE_PARENT_CONTEXT);
+      parent = new Object();
+    }
+    template.getTemplate().execute(bundle, parent, out);
+    return out.toString();
+  }
+}
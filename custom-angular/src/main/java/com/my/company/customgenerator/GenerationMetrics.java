@@ -0,0 +1,139 @@
+package com.my.company.customgenerator;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Wall time, allocated bytes and item counts of the generation phases and of every rendered template.
+ *
+ * Allocations are measured per thread, so a phase only accounts for what the thread running it allocated;
+ * they are reported as -1 when the JVM cannot measure them.
+ */
+class GenerationMetrics {
+  private static final String RENDER_TEMPLATES = "renderTemplates";
+
+  private final long startTime = System.nanoTime();
+  private final Map<String, Stat> phases = new LinkedHashMap<>();
+  private final Map<String, Stat> templates = new TreeMap<>();
+
+  /**
+   * Starts measuring a phase or template on the current thread.
+   */
+  Sample start() {
+    return new Sample(System.nanoTime(), allocatedBytes());
+  }
+
+  /**
+   * Records a phase started with {@link #start()} on the current thread.
+   *
+   * @param phase  the name of the phase
+   * @param sample the start of the phase
+   * @param items  the number of items (models, operations, files, ...) the phase processed
+   */
+  void record(String phase, Sample sample, int items) {
+    Sample end = start();
+    synchronized (this) {
+      phases.computeIfAbsent(phase, name -> new Stat()).add(sample, end, items);
+    }
+  }
+
+  /**
+   * Records the rendering of one output of a template, also accounted to the <code>renderTemplates</code> phase.
+   *
+   * @param templateFile the template
+   * @param sample       the start of the rendering
+   */
+  void recordTemplate(String templateFile, Sample sample) {
+    Sample end = start();
+    synchronized (this) {
+      templates.computeIfAbsent(templateFile, name -> new Stat()).add(sample, end, 1);
+      phases.computeIfAbsent(RENDER_TEMPLATES, name -> new Stat()).add(sample, end, 1);
+    }
+  }
+
+  /**
+   * Writes the metrics recorded so far as JSON.
+   *
+   * @param file      the report
+   * @param generator the name of the generator
+   * @throws IOException if the report cannot be written
+   */
+  synchronized void write(File file, String generator) throws IOException {
+    ObjectNode root = Json.mapper().createObjectNode();
+    root.put("generator", generator);
+    root.put("wallTimeMs", toMillis(System.nanoTime() - startTime));
+    ObjectNode phaseNodes = root.putObject("phases");
+    for (Map.Entry<String, Stat> phase : phases.entrySet()) {
+      phase.getValue().write(phaseNodes.putObject(phase.getKey()));
+    }
+    ObjectNode templateNodes = root.putObject("templates");
+    for (Map.Entry<String, Stat> template : templates.entrySet()) {
+      template.getValue().write(templateNodes.putObject(template.getKey()));
+    }
+
+    File parent = file.getParentFile();
+    if (parent != null && !parent.exists() && !parent.mkdirs()) {
+      throw new IOException("Could not create directory " + parent);
+    }
+    Files.write(file.toPath(), Json.pretty().writeValueAsBytes(root));
+  }
+
+  private static long allocatedBytes() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+      if (allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled()) {
+        return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return -1;
+  }
+
+  private static double toMillis(long nanos) {
+    return Math.round(nanos / 1_000.0) / 1_000.0;
+  }
+
+  static final class Sample {
+    private final long time;
+    private final long allocatedBytes;
+
+    private Sample(long time, long allocatedBytes) {
+      this.time = time;
+      this.allocatedBytes = allocatedBytes;
+    }
+  }
+
+  private static final class Stat {
+    private long invocations = 0;
+    private long items = 0;
+    private long wallTimeNanos = 0;
+    private long allocatedBytes = 0;
+
+    private void add(Sample start, Sample end, int itemCount) {
+      invocations++;
+      items += itemCount;
+      wallTimeNanos += end.time - start.time;
+      if (start.allocatedBytes < 0 || end.allocatedBytes < 0 || allocatedBytes < 0) {
+        allocatedBytes = -1;
+      } else {
+        allocatedBytes += end.allocatedBytes - start.allocatedBytes;
+      }
+    }
+
+    private void write(ObjectNode node) {
+      node.put("invocations", invocations);
+      node.put("items", items);
+      node.put("wallTimeMs", toMillis(wallTimeNanos));
+      node.put("allocatedBytes", allocatedBytes);
+    }
+  }
+}
@@ -0,0 +1,196 @@
+package com.my.company.customgenerator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Manifest of the per-tag and per-model outputs of an incremental generation run.
+ *
+ * Every output is stored with the fingerprint of its inputs (spec fragment, options and templates) and the hash
+ * of the content that was written. On the next run an output whose fingerprint is unchanged, and whose file was
+ * not modified in between, is not rendered again; its current content is handed back as-is. Outputs of the
+ * previous run that are not produced any more (deleted tags or schemas) are pruned.
+ */
+class IncrementalGenerationManifest {
+  private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalGenerationManifest.class);
+
+  static final String MANIFEST_FILENAME = ".openapi-generator" + File.separator + "custom-angular-manifest.json";
+
+  private final Path outputDir;
+  private final File manifestFile;
+  private final Map<String, Entry> previousEntries;
+  private final Map<String, Entry> currentEntries = new TreeMap<>();
+  private int reusedCount = 0;
+  private int renderedCount = 0;
+
+  private IncrementalGenerationManifest(Path outputDir, File manifestFile, Map<String, Entry> previousEntries) {
+    this.outputDir = outputDir;
+    this.manifestFile = manifestFile;
+    this.previousEntries = previousEntries;
+  }
+
+  /**
+   * Loads the manifest of the previous run from the given output directory.
+   * A missing or unreadable manifest results in an empty one, i.e. a full generation.
+   *
+   * @param outputDir the output directory of the generator
+   * @return the manifest
+   */
+  static IncrementalGenerationManifest load(String outputDir) {
+    Path root = new File(outputDir).toPath().toAbsolutePath().normalize();
+    File manifestFile = root.resolve(MANIFEST_FILENAME).toFile();
+    Map<String, Entry> entries = new TreeMap<>();
+    if (manifestFile.isFile()) {
+      try {
+        JsonNode outputs = Json.mapper().readTree(manifestFile).path("outputs");
+        Iterator<Map.Entry<String, JsonNode>> fields = outputs.fields();
+        while (fields.hasNext()) {
+          Map.Entry<String, JsonNode> field = fields.next();
+          entries.put(field.getKey(), new Entry(
+                  field.getValue().path("fingerprint").asText(),
+                  field.getValue().path("contentHash").asText()));
+        }
+      } catch (IOException e) {
+        LOGGER.warn("Ignoring unreadable manifest {}, all files will be generated: {}", manifestFile, e.getMessage());
+        entries.clear();
+      }
+    }
+    return new IncrementalGenerationManifest(root, manifestFile, entries);
+  }
+
+  /**
+   * Returns the current content of the target if it was generated from the same fingerprint and was not
+   * modified since, <code>null</code> if it has to be rendered again.
+   *
+   * @param target      the output file
+   * @param fingerprint the fingerprint of the inputs of the output
+   * @return the content to reuse or <code>null</code>
+   * @throws IOException if the existing file cannot be read
+   */
+  synchronized String reuse(File target, String fingerprint) throws IOException {
+    String key = toKey(target);
+    Entry previous = previousEntries.get(key);
+    if (previous == null || !previous.fingerprint.equals(fingerprint) || !target.isFile()) {
+      return null;
+    }
+    byte[] content = Files.readAllBytes(target.toPath());
+    if (!previous.contentHash.equals(sha256(content))) {
+      return null;
+    }
+    currentEntries.put(key, previous);
+    reusedCount++;
+    return new String(content, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Records a freshly rendered output.
+   *
+   * @param target      the output file
+   * @param fingerprint the fingerprint of the inputs of the output
+   * @param content     the rendered content
+   */
+  synchronized void record(File target, String fingerprint, String content) {
+    currentEntries.put(toKey(target), new Entry(fingerprint, sha256(content.getBytes(StandardCharsets.UTF_8))));
+    renderedCount++;
+  }
+
+  /**
+   * Deletes the outputs of the previous run that were not produced by this run and writes the manifest.
+   *
+   * @param completeRun whether all apis and models were generated; outputs missing from a selective run are kept
+   * @param owned       whether a file is still owned by the generator; files excluded by the ignore file are kept
+   * @return the deleted files
+   * @throws IOException if the manifest cannot be written
+   */
+  synchronized List<File> pruneAndSave(boolean completeRun, Predicate<File> owned) throws IOException {
+    List<File> pruned = new ArrayList<>();
+    if (renderedCount == 0 && reusedCount == 0) {
+      // nothing went through the templating engine (e.g. a dry run), the outputs on disk are unchanged
+      return pruned;
+    }
+    for (Map.Entry<String, Entry> previous : previousEntries.entrySet()) {
+      if (currentEntries.containsKey(previous.getKey())) {
+        continue;
+      }
+      File stale = outputDir.resolve(previous.getKey()).toFile();
+      if (!completeRun) {
+        currentEntries.put(previous.getKey(), previous.getValue());
+      } else if (owned.test(stale) && stale.isFile() && stale.delete()) {
+        pruned.add(stale);
+      }
+    }
+
+    ObjectNode root = Json.mapper().createObjectNode();
+    ObjectNode outputs = root.putObject("outputs");
+    for (Map.Entry<String, Entry> entry : currentEntries.entrySet()) {
+      ObjectNode output = outputs.putObject(entry.getKey());
+      output.put("fingerprint", entry.getValue().fingerprint);
+      output.put("contentHash", entry.getValue().contentHash);
+    }
+    File parent = manifestFile.getParentFile();
+    if (parent != null && !parent.exists() && !parent.mkdirs()) {
+      throw new IOException("Could not create directory " + parent);
+    }
+    byte[] content = Json.pretty().writeValueAsBytes(root);
+    if (!manifestFile.isFile() || !Arrays.equals(content, Files.readAllBytes(manifestFile.toPath()))) {
+      Files.write(manifestFile.toPath(), content);
+    }
+
+    LOGGER.info("Incremental generation: {} outputs rendered, {} unchanged, {} pruned",
+            renderedCount, reusedCount, pruned.size());
+    return pruned;
+  }
+
+  private String toKey(File target) {
+    return outputDir.relativize(target.toPath().toAbsolutePath().normalize()).toString().replace(File.separatorChar, '/');
+  }
+
+  /**
+   * Hex encoded SHA-256 of the given bytes.
+   */
+  static String sha256(byte[] bytes) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+    StringBuilder hex = new StringBuilder(64);
+    for (byte b : digest.digest(bytes)) {
+      hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return hex.toString();
+  }
+
+  static String sha256(String value) {
+    return sha256(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static class Entry {
+    private final String fingerprint;
+    private final String contentHash;
+
+    private Entry(String fingerprint, String contentHash) {
+      this.fingerprint = fingerprint;
+      this.contentHash = contentHash;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.my.company.customgenerator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups the models by the tags whose operations use them, directly or through other models.
+ *
+ * A model used by the operations of a single tag belongs to the barrel of that tag. The models used by several
+ * tags, or by none, belong to the common barrel that every tag barrel re-exports, so a lazy loaded part of an
+ * application only pulls the models of the tags it calls.
+ */
+class ModelBarrels {
+  static final String COMMON = "common";
+
+  private final Map<String, Set<String>> tagImports = new LinkedHashMap<>();
+  private final Map<String, Set<String>> modelImports = new HashMap<>();
+
+  /**
+   * Records the models imported by the operations of a tag.
+   *
+   * @param tag     the name of the barrel of the tag
+   * @param imports the class names of the imported models
+   */
+  synchronized void addTag(String tag, Collection<String> imports) {
+    tagImports.computeIfAbsent(tag, name -> new HashSet<>()).addAll(imports);
+  }
+
+  /**
+   * Records the models a model imports.
+   *
+   * @param classname the class name of the model
+   * @param imports   the class names of the imported models
+   */
+  synchronized void addModel(String classname, Collection<String> imports) {
+    modelImports.put(classname, new HashSet<>(imports));
+  }
+
+  /**
+   * @param models the class names of the models with a file, in barrel order
+   * @return the class names of the models of every barrel, {@link #COMMON} first, then the tags in the order they
+   * were added; tags without models of their own are included with an empty list
+   */
+  synchronized Map<String, List<String>> group(Collection<String> models) {
+    Map<String, Integer> usages = new HashMap<>();
+    Map<String, String> owners = new HashMap<>();
+    for (Map.Entry<String, Set<String>> tag : tagImports.entrySet()) {
+      for (String model : closure(tag.getValue())) {
+        usages.merge(model, 1, Integer::sum);
+        owners.put(model, tag.getKey());
+      }
+    }
+
+    Map<String, List<String>> barrels = new LinkedHashMap<>();
+    barrels.put(COMMON, new ArrayList<>());
+    for (String tag : tagImports.keySet()) {
+      // the models of a tag named like the common barrel simply end up in it
+      barrels.putIfAbsent(tag, new ArrayList<>());
+    }
+    for (String model : models) {
+      barrels.get(usages.getOrDefault(model, 0) == 1 ? owners.get(model) : COMMON).add(model);
+    }
+    return barrels;
+  }
+
+  private Set<String> closure(Set<String> imports) {
+    Set<String> reached = new HashSet<>();
+    Deque<String> pending = new ArrayDeque<>(imports);
+    while (!pending.isEmpty()) {
+      String model = pending.pop();
+      if (reached.add(model)) {
+        pending.addAll(modelImports.getOrDefault(model, Collections.emptySet()));
+      }
+    }
+    return reached;
+  }
+}
@@ -0,0 +1,218 @@
+package com.my.company.customgenerator;
+
+import org.openapitools.codegen.CodegenDiscriminator;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenProperty;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles the schema of every model into the TypeScript checks of its <code>validate&lt;Model&gt;</code> function.
+ *
+ * The checks are plain expressions on the checked value: a property is checked inline with <code>typeof</code> or
+ * literal comparisons, and only the models, arrays and maps are checked through a function call. The paths and the
+ * errors are only built when the caller collects the errors, so a valid value is checked without allocating anything.
+ * The values the schema does not constrain (any type, free-form objects, files) are not checked.
+ */
+class ModelValidators {
+  static final String X_VALIDATOR = "x-validator";
+  static final String X_RESPONSE_VALIDATOR = "x-response-validator";
+  // the functions of the validation.ts supporting file, imported as a namespace
+  private static final String RUNTIME = "validation.";
+
+  private final Set<String> models;
+
+  /**
+   * @param models the class names of the models with a validator
+   */
+  ModelValidators(Collection<String> models) {
+    this.models = new HashSet<>(models);
+  }
+
+  /**
+   * @return whether the model has a <code>validate&lt;Model&gt;</code> function, which the mapped imports do not
+   */
+  boolean hasValidator(String classname) {
+    return models.contains(classname);
+  }
+
+  /**
+   * @return what the validator template needs: a <code>validatorCheck</code> expression on <code>value</code>, the
+   * <code>validatorCases</code> of a tagged union, or the <code>validatorProperties</code> of an object
+   */
+  Map<String, Object> validator(CodegenModel cm, boolean taggedUnions) {
+    Map<String, Object> validator = new HashMap<>();
+    String expected = "'a " + cm.classname + "'";
+    if (cm.isEnum) {
+      validator.put("validatorCheck", enumCheck(cm.allowableValues, "value", "path", expected));
+    } else if (cm.isAlias) {
+      String items = cm.isArray && cm.items != null ? validatorReference(cm.items) : null;
+      String check = items != null
+              ? RUNTIME + "isArrayOf(value, path, errors, " + items + ")"
+              : typeCheck(cm.dataType, "value", "path");
+      validator.put("validatorCheck", check == null ? "true" : check);
+    } else if (taggedUnions && cm.discriminator != null && cm.children != null && !cm.children.isEmpty()) {
+      List<Map<String, String>> cases = new ArrayList<>();
+      for (CodegenDiscriminator.MappedModel mapped : cm.discriminator.getMappedModels()) {
+        if (!mapped.getModelName().equals(cm.classname) && models.contains(mapped.getModelName())) {
+          Map<String, String> entry = new HashMap<>();
+          entry.put("value", CustomAngularGenerator.escapeQuotes(mapped.getMappingName()));
+          entry.put("validator", "validate" + mapped.getModelName());
+          cases.add(entry);
+        }
+      }
+      validator.put("validatorDiscriminator", CustomAngularGenerator.escapeQuotes(cm.discriminator.getPropertyBaseName()));
+      validator.put("validatorCases", cases);
+    } else if (!taggedUnions && cm.oneOf != null && !cm.oneOf.isEmpty()) {
+      validator.put("validatorCheck", oneOfCheck(cm.oneOf, expected));
+    } else {
+      List<Map<String, String>> properties = new ArrayList<>();
+      for (CodegenProperty p : cm.allVars) {
+        String check = propertyCheck(p);
+        if (check != null) {
+          Map<String, String> property = new HashMap<>();
+          property.put("name", CustomAngularGenerator.escapeQuotes(p.baseName));
+          property.put("check", check);
+          properties.add(property);
+        }
+      }
+      validator.put("validatorProperties", properties);
+    }
+    return validator;
+  }
+
+  /**
+   * @return the validator of the response body of an operation, <code>null</code> if it is not checked
+   */
+  String responseValidator(CodegenOperation op) {
+    if (op.returnType == null || op.isResponseFile || !models.contains(op.returnBaseType)) {
+      return null;
+    }
+    String validator = "validate" + op.returnBaseType;
+    if ("map".equals(op.returnContainer)) {
+      return RUNTIME + "mapOf(" + validator + ")";
+    }
+    if (op.returnContainer != null) {
+      return RUNTIME + "arrayOf(" + validator + ")";
+    }
+    return validator;
+  }
+
+  /**
+   * @return the check of the property held by <code>v</code>, <code>null</code> if any value is valid
+   */
+  private String propertyCheck(CodegenProperty p) {
+    String path = "errors && path + '." + CustomAngularGenerator.escapeQuotes(p.baseName) + "'";
+    String check = valueCheck(p, "v", path);
+    if (check != null && p.isNullable) {
+      check = "v === null || " + check;
+    }
+    // a write only property is not in the responses
+    if (p.required && !p.isWriteOnly) {
+      String missing = RUNTIME + "invalid(errors, " + path + ", 'a value')";
+      return check == null ? "v !== undefined || " + missing : "v !== undefined ? " + check + " : " + missing;
+    }
+    return check == null ? null : "v === undefined || " + check;
+  }
+
+  private String valueCheck(CodegenProperty p, String value, String path) {
+    if (p.isArray) {
+      String items = p.items == null ? null : validatorReference(p.items);
+      return items == null
+              ? "(Array.isArray(" + value + ") || " + RUNTIME + "invalid(errors, " + path + ", 'an array'))"
+              : RUNTIME + "isArrayOf(" + value + ", " + path + ", errors, " + items + ")";
+    }
+    if (p.isMap) {
+      String items = p.items == null ? null : validatorReference(p.items);
+      return items == null
+              ? RUNTIME + "isObject(" + value + ", " + path + ", errors)"
+              : RUNTIME + "isMapOf(" + value + ", " + path + ", errors, " + items + ")";
+    }
+    if (p.isEnum && p.allowableValues != null) {
+      return enumCheck(p.allowableValues, value, path, "'an allowed value'");
+    }
+    return typeCheck(p.dataType, value, path);
+  }
+
+  /**
+   * @return the check of a primitive or model type, <code>null</code> for the types without a validator
+   */
+  private String typeCheck(String dataType, String value, String path) {
+    String expected = primitiveDescription(dataType);
+    if (expected != null) {
+      return "(typeof " + value + " === '" + dataType + "' || " + RUNTIME + "invalid(errors, " + path + ", '" + expected + "'))";
+    }
+    if (models.contains(dataType)) {
+      return "validate" + dataType + "(" + value + ", " + path + ", errors)";
+    }
+    return null;
+  }
+
+  /**
+   * @return the function checking the items of an array or a map, <code>null</code> to skip them
+   */
+  private String validatorReference(CodegenProperty items) {
+    if (items.isArray || items.isMap || items.isEnum) {
+      return null;
+    }
+    if ("string".equals(items.dataType)) {
+      return RUNTIME + "isString";
+    }
+    if ("number".equals(items.dataType)) {
+      return RUNTIME + "isNumber";
+    }
+    if ("boolean".equals(items.dataType)) {
+      return RUNTIME + "isBoolean";
+    }
+    return models.contains(items.dataType) ? "validate" + items.dataType : null;
+  }
+
+  private String oneOfCheck(Set<String> oneOf, String expected) {
+    StringBuilder check = new StringBuilder();
+    for (String type : oneOf) {
+      String variant;
+      if (primitiveDescription(type) != null) {
+        variant = "typeof value === '" + type + "'";
+      } else if (models.contains(type)) {
+        // without the errors: only the failure of all the variants is reported
+        variant = "validate" + type + "(value)";
+      } else {
+        // a variant that is not checked accepts any value
+        return "true";
+      }
+      check.append(variant).append(" || ");
+    }
+    return check.append(RUNTIME).append("invalid(errors, path, ").append(expected).append(")").toString();
+  }
+
+  private static String enumCheck(Map<String, Object> allowableValues, String value, String path, String expected) {
+    StringBuilder check = new StringBuilder("(");
+    Object enumVars = allowableValues.get("enumVars");
+    if (enumVars instanceof List) {
+      for (Object enumVar : (List<?>) enumVars) {
+        check.append(value).append(" === ").append(((Map<?, ?>) enumVar).get("value")).append(" || ");
+      }
+    }
+    return check.append(RUNTIME).append("invalid(errors, ").append(path).append(", ").append(expected).append("))").toString();
+  }
+
+  private static String primitiveDescription(String dataType) {
+    switch (dataType == null ? "" : dataType) {
+      case "string":
+        return "a string";
+      case "number":
+        return "a number";
+      case "boolean":
+        return "a boolean";
+      default:
+        return null;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.my.company.customgenerator;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, least recently used cache of converted names (file names, imports, ...).
+ *
+ * The key holds the kind of conversion, the name and every option the conversion depends on, so an entry
+ * is never returned for options it was not computed with.
+ */
+class NamingCache {
+  private final Map<List<String>, String> names;
+  private long hits = 0;
+  private long misses = 0;
+
+  NamingCache(int maxSize) {
+    this.names = new LinkedHashMap<List<String>, String>(256, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<List<String>, String> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached name, computing it on a miss.
+   *
+   * @param key     the kind of conversion, the name and the options it depends on
+   * @param convert computes the name
+   * @return the converted name
+   */
+  synchronized String get(List<String> key, Supplier<String> convert) {
+    String name = names.get(key);
+    if (name != null) {
+      hits++;
+      return name;
+    }
+    misses++;
+    // not computeIfAbsent, conversions may look up other names
+    name = convert.get();
+    names.put(key, name);
+    return name;
+  }
+
+  synchronized long getHits() {
+    return hits;
+  }
+
+  synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Drops all names and resets the counters.
+   */
+  synchronized void clear() {
+    names.clear();
+    hits = 0;
+    misses = 0;
+  }
+}
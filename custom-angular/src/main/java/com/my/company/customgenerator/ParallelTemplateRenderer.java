@@ -0,0 +1,132 @@
+package com.my.company.customgenerator;
+
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.TemplateManager;
+import org.openapitools.codegen.api.TemplatePathLocator;
+import org.openapitools.codegen.ignore.CodegenIgnoreProcessor;
+import org.openapitools.codegen.templating.CommonTemplateContentLocator;
+import org.openapitools.codegen.templating.GeneratorTemplateContentLocator;
+import org.openapitools.codegen.templating.TemplateManagerOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders and writes api and model templates on a fixed thread pool.
+ *
+ * Every output is rendered from its own bundle only, so the content of the files does not depend on the
+ * number of threads or on the order in which the tasks complete. Files are written the same way the
+ * generator writes them: through a {@link TemplateManager} honouring minimal update and skip overwrite,
+ * and only if the ignore file allows it.
+ */
+class ParallelTemplateRenderer {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ParallelTemplateRenderer.class);
+
+  private final CodegenConfig config;
+  private final int threads;
+  private final List<RenderTask> tasks = new ArrayList<>();
+
+  ParallelTemplateRenderer(CodegenConfig config, int threads) {
+    this.config = config;
+    this.threads = threads;
+  }
+
+  /**
+   * Adds an output to render.
+   *
+   * @param bundle       the data the template is rendered with
+   * @param templateFile the template
+   * @param target       the output file
+   * @param fileType     the type of the output for {@link CodegenConfig#postProcessFile(File, String)}
+   */
+  void add(Map<String, Object> bundle, String templateFile, File target, String fileType) {
+    tasks.add(new RenderTask(bundle, templateFile, target, fileType));
+  }
+
+  /**
+   * Renders and writes all added outputs and waits for them to complete.
+   *
+   * @return the written files, in the order the outputs were added
+   * @throws IOException if a template cannot be rendered or a file cannot be written
+   */
+  List<File> renderAndWrite() throws IOException {
+    TemplateManager templateManager = new TemplateManager(
+            new TemplateManagerOptions(config.isEnableMinimalUpdate(), config.isSkipOverwrite()),
+            config.getTemplatingEngine(),
+            new TemplatePathLocator[]{new GeneratorTemplateContentLocator(config), new CommonTemplateContentLocator()});
+    CodegenIgnoreProcessor ignoreProcessor = config.getIgnoreFilePathOverride() != null
+            ? new CodegenIgnoreProcessor(new File(config.getIgnoreFilePathOverride()))
+            : new CodegenIgnoreProcessor(config.getOutputDir());
+
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "custom-angular-render-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    long start = System.nanoTime();
+    try {
+      List<RenderTask> submitted = new ArrayList<>(tasks.size());
+      List<Future<File>> futures = new ArrayList<>(tasks.size());
+      for (RenderTask task : tasks) {
+        if (ignoreProcessor.allowsFile(task.target)) {
+          submitted.add(task);
+          futures.add(executor.submit(() -> templateManager.write(task.bundle, task.templateFile, task.target)));
+        } else {
+          templateManager.ignore(task.target.toPath(), "Ignored by rule in ignore file.");
+        }
+      }
+
+      List<File> written = new ArrayList<>(futures.size());
+      for (int i = 0; i < futures.size(); i++) {
+        File file = futures.get(i).get();
+        if (file != null) {
+          written.add(file);
+          if (config.isEnablePostProcessFile()) {
+            config.postProcessFile(file, submitted.get(i).fileType);
+          }
+        }
+      }
+      LOGGER.info("Rendered {} api and model files on {} threads in {} ms",
+              written.size(), threads, (System.nanoTime() - start) / 1_000_000);
+      return written;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while rendering templates", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IOException("Could not render templates", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static final class RenderTask {
+    private final Map<String, Object> bundle;
+    private final String templateFile;
+    private final File target;
+    private final String fileType;
+
+    private RenderTask(Map<String, Object> bundle, String templateFile, File target, String fileType) {
+      this.bundle = bundle;
+      this.templateFile = templateFile;
+      this.target = target;
+      this.fileType = fileType;
+    }
+  }
+}
@@ -0,0 +1,191 @@
+package com.my.company.customgenerator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenOperation;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Computes the fingerprints of the spec fragments an API or model output is generated from.
+ *
+ * A tag is fingerprinted by its operations (including the path level parameters) and the schemas they reference,
+ * a model by its schema, the schemas it references, its <code>allOf</code> parents and its discriminator children.
+ * Referenced schemas are only followed one level deep: an output only depends on the name of a referenced model,
+ * not on its content, except for the inherited properties which are followed up the whole <code>allOf</code> chain.
+ */
+class SpecFingerprints {
+  private static final String SCHEMA_REF_PREFIX = "#/components/schemas/";
+
+  private final OpenAPI openAPI;
+  private final Map<String, String> schemaHashes = new HashMap<>();
+  private final Map<String, Set<String>> schemaRefs = new HashMap<>();
+  private String sharedHash;
+
+  SpecFingerprints(OpenAPI openAPI) {
+    this.openAPI = openAPI;
+  }
+
+  /**
+   * Fingerprint of the operations of one tag.
+   *
+   * @param operations the operations, with their original (not yet rewritten) paths
+   * @return the fingerprint, <code>null</code> if an operation cannot be found in the spec
+   */
+  String operations(List<CodegenOperation> operations) {
+    StringBuilder inputs = new StringBuilder(sharedHash());
+    for (CodegenOperation op : operations) {
+      PathItem pathItem = openAPI.getPaths() == null ? null : openAPI.getPaths().get(op.path);
+      if (pathItem == null) {
+        return null;
+      }
+      Operation operation;
+      try {
+        operation = pathItem.readOperationsMap().get(PathItem.HttpMethod.valueOf(op.httpMethod.toUpperCase(Locale.ROOT)));
+      } catch (IllegalArgumentException e) {
+        return null;
+      }
+      if (operation == null) {
+        return null;
+      }
+
+      ObjectNode fragment = Json.mapper().createObjectNode();
+      fragment.put("path", op.path);
+      fragment.put("method", op.httpMethod);
+      fragment.set("pathParameters", Json.mapper().valueToTree(pathItem.getParameters()));
+      fragment.set("pathServers", Json.mapper().valueToTree(pathItem.getServers()));
+      fragment.set("operation", Json.mapper().valueToTree(operation));
+      inputs.append('|').append(IncrementalGenerationManifest.sha256(fragment.toString()));
+
+      Set<String> refs = new TreeSet<>();
+      collectSchemaRefs(fragment, refs);
+      for (String ref : refs) {
+        inputs.append('|').append(ref).append('=').append(schemaHash(ref));
+      }
+    }
+    return IncrementalGenerationManifest.sha256(inputs.toString());
+  }
+
+  /**
+   * Fingerprint of one model.
+   *
+   * @param model the model
+   * @return the fingerprint, <code>null</code> if the schema of the model cannot be found in the spec
+   */
+  String model(CodegenModel model) {
+    if (getSchema(model.name) == null) {
+      return null;
+    }
+    Set<String> dependencies = new LinkedHashSet<>();
+    collectModelDependencies(model.name, dependencies, new HashSet<>());
+    if (model.children != null) {
+      for (CodegenModel child : model.children) {
+        dependencies.add(child.name);
+      }
+    }
+
+    StringBuilder inputs = new StringBuilder(model.name).append('=').append(schemaHash(model.name));
+    for (String dependency : dependencies) {
+      inputs.append('|').append(dependency).append('=').append(schemaHash(dependency));
+    }
+    return IncrementalGenerationManifest.sha256(inputs.toString());
+  }
+
+  private void collectModelDependencies(String name, Set<String> dependencies, Set<String> visited) {
+    visited.add(name);
+    dependencies.addAll(schemaRefs(name));
+    Schema<?> schema = getSchema(name);
+    if (schema != null && schema.getAllOf() != null) {
+      for (Schema<?> parent : schema.getAllOf()) {
+        String ref = parent.get$ref();
+        if (ref != null && ref.startsWith(SCHEMA_REF_PREFIX)) {
+          String parentName = ref.substring(SCHEMA_REF_PREFIX.length());
+          if (!visited.contains(parentName)) {
+            collectModelDependencies(parentName, dependencies, visited);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Hash of everything outside of the operations an API output may depend on.
+   */
+  private String sharedHash() {
+    if (sharedHash == null) {
+      ObjectNode shared = Json.mapper().createObjectNode();
+      shared.set("servers", Json.mapper().valueToTree(openAPI.getServers()));
+      shared.set("security", Json.mapper().valueToTree(openAPI.getSecurity()));
+      Components components = openAPI.getComponents();
+      if (components != null) {
+        shared.set("parameters", Json.mapper().valueToTree(components.getParameters()));
+        shared.set("requestBodies", Json.mapper().valueToTree(components.getRequestBodies()));
+        shared.set("responses", Json.mapper().valueToTree(components.getResponses()));
+        shared.set("headers", Json.mapper().valueToTree(components.getHeaders()));
+        shared.set("securitySchemes", Json.mapper().valueToTree(components.getSecuritySchemes()));
+      }
+      sharedHash = IncrementalGenerationManifest.sha256(shared.toString());
+    }
+    return sharedHash;
+  }
+
+  private String schemaHash(String name) {
+    String hash = schemaHashes.get(name);
+    if (hash == null) {
+      JsonNode node = Json.mapper().valueToTree(getSchema(name));
+      hash = IncrementalGenerationManifest.sha256(node.toString());
+      schemaHashes.put(name, hash);
+      Set<String> refs = new TreeSet<>();
+      collectSchemaRefs(node, refs);
+      schemaRefs.put(name, refs);
+    }
+    return hash;
+  }
+
+  private Set<String> schemaRefs(String name) {
+    schemaHash(name);
+    return schemaRefs.get(name);
+  }
+
+  private Schema<?> getSchema(String name) {
+    Components components = openAPI.getComponents();
+    if (components == null || components.getSchemas() == null) {
+      return null;
+    }
+    return components.getSchemas().get(name);
+  }
+
+  private static void collectSchemaRefs(JsonNode node, Set<String> refs) {
+    if (node.isObject()) {
+      Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        if ("$ref".equals(field.getKey()) && field.getValue().isTextual()
+                && field.getValue().asText().startsWith(SCHEMA_REF_PREFIX)) {
+          refs.add(field.getValue().asText().substring(SCHEMA_REF_PREFIX.length()));
+        } else {
+          collectSchemaRefs(field.getValue(), refs);
+        }
+      }
+    } else if (node.isArray()) {
+      for (JsonNode element : node) {
+        collectSchemaRefs(element, refs);
+      }
+    }
+  }
+}
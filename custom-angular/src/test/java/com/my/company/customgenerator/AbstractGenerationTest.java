@@ -0,0 +1,116 @@
+package com.my.company.customgenerator;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.config.GlobalSettings;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Generates the small specs of the test resources in a temporary folder.
+ */
+public abstract class AbstractGenerationTest {
+
+  protected static final String SPEC = "/generation/petstore.yaml";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @After
+  public void resetGlobalSettings() {
+    GlobalSettings.reset();
+  }
+
+  protected CodegenConfigurator newConfigurator(String spec, File output, Map<String, Object> properties) throws URISyntaxException {
+    CodegenConfigurator configurator = new CodegenConfigurator()
+            .setGeneratorName("custom-angular")
+            .setInputSpec(new File(getClass().getResource(spec).toURI()).getAbsolutePath())
+            .setOutputDir(output.getAbsolutePath());
+    for (Map.Entry<String, Object> property : properties.entrySet()) {
+      configurator.addAdditionalProperty(property.getKey(), property.getValue());
+    }
+    return configurator;
+  }
+
+  protected void generate(String spec, File output, Map<String, Object> properties) throws URISyntaxException {
+    new DefaultGenerator().opts(newConfigurator(spec, output, properties).toClientOptInput()).generate();
+    GlobalSettings.reset();
+  }
+
+  /**
+   * Generates the spec without and with an option that must not change the generated files.
+   *
+   * @return the generated files
+   */
+  protected Map<String, byte[]> assertSameFilesWith(String option, Map<String, Object> properties) throws Exception {
+    Map<String, Object> withOption = new HashMap<>(properties);
+    withOption.put(option, true);
+    File without = temporaryFolder.newFolder();
+    generate(SPEC, without, properties);
+    File with = temporaryFolder.newFolder();
+    generate(SPEC, with, withOption);
+
+    Map<String, byte[]> files = readTree(without);
+    assertSameTree(files, readTree(with));
+    return files;
+  }
+
+  protected static String read(File file) throws IOException {
+    return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return the content of the generated files by relative path, without the metadata of the generator
+   */
+  protected static Map<String, byte[]> readTree(File root) throws IOException {
+    Map<String, byte[]> files = new TreeMap<>();
+    Path rootPath = root.toPath();
+    try (Stream<Path> paths = Files.walk(rootPath)) {
+      for (Path path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+        String relative = rootPath.relativize(path).toString().replace(File.separatorChar, '/');
+        if (!relative.startsWith(".openapi-generator/")) {
+          files.put(relative, Files.readAllBytes(path));
+        }
+      }
+    }
+    return files;
+  }
+
+  protected static void assertSameTree(Map<String, byte[]> expected, Map<String, byte[]> actual) {
+    assertEquals(expected.keySet(), actual.keySet());
+    for (Map.Entry<String, byte[]> file : expected.entrySet()) {
+      assertArrayEquals(file.getKey() + " differs", file.getValue(), actual.get(file.getKey()));
+    }
+  }
+
+  /**
+   * @param source the generated service or functions
+   * @param signature the start of the implementation of the operation, e.g. <code>public getPetById(</code>
+   * @return the implementation of the operation, up to its closing brace
+   */
+  protected static String operationSource(String source, String signature) {
+    // the overloads of a service method come first
+    int start = source.lastIndexOf(signature);
+    assertTrue(signature + " is not generated", start >= 0);
+    String indentation = source.substring(source.lastIndexOf('\n', start) + 1, start);
+    int end = source.indexOf("\n" + indentation + "}\n", start);
+    assertTrue(signature + " is not closed", end >= 0);
+    return source.substring(start, end);
+  }
+}
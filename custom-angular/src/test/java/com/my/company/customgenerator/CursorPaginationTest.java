@@ -0,0 +1,66 @@
+package com.my.company.customgenerator;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CursorPaginationTest extends AbstractGenerationTest {
+
+  private static final String PAGINATION_SPEC = "/generation/pagination.yaml";
+  private static final String[] NOT_PAGINATED = {
+          // x-pagination: false
+          "listTags",
+          // invalid x-pagination
+          "listOwners",
+          // without cursor parameter
+          "listEvents",
+          // returns an array
+          "listLogs"
+  };
+
+  @Test
+  public void paginatedOperationsHavePagesCompanions() throws Exception {
+    String service = generateService(Collections.singletonMap(CustomAngularGenerator.CURSOR_PAGINATION, true));
+
+    // detected from the naming convention
+    String listItemsPages = operationSource(service, "public listItemsPages(");
+    assertTrue(listItemsPages.contains("fetchPage: localVarCursor => this.listItems(<any>localVarCursor, limit, 'body', false, options),"));
+    assertTrue(listItemsPages.contains("cursorName: 'cursor',"));
+    assertTrue(listItemsPages.contains("nextPath: ['nextCursor']"));
+    // set by x-pagination
+    String searchItemsPages = operationSource(service, "public searchItemsPages(");
+    assertTrue(searchItemsPages.contains("cursorName: 'from',"));
+    assertTrue(searchItemsPages.contains("nextPath: ['meta', 'next']"));
+
+    for (String operation : NOT_PAGINATED) {
+      assertFalse(operation + " is paginated", service.contains(operation + "Pages("));
+    }
+  }
+
+  @Test
+  public void onlyTheExtensionPaginatesWithoutCursorPagination() throws Exception {
+    String service = generateService(Collections.emptyMap());
+
+    assertFalse(service.contains("listItemsPages("));
+    assertTrue(service.contains("public searchItemsPages("));
+  }
+
+  @Test
+  public void lowMemoryGenerationWritesTheSamePagesCompanions() throws Exception {
+    Map<String, byte[]> files = assertSameFilesWith(CustomAngularGenerator.LOW_MEMORY_GENERATION,
+            Collections.singletonMap(CustomAngularGenerator.CURSOR_PAGINATION, true));
+    assertTrue(new String(files.get("api/pet.service.ts"), StandardCharsets.UTF_8).contains("public listPetsPages("));
+  }
+
+  private String generateService(Map<String, Object> properties) throws Exception {
+    File output = temporaryFolder.newFolder("pagination");
+    generate(PAGINATION_SPEC, output, properties);
+    return read(new File(output, "api/item.service.ts"));
+  }
+}
@@ -0,0 +1,56 @@
+package com.my.company.customgenerator;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalGenerationTest extends AbstractGenerationTest {
+
+  private static final String SPEC_WITHOUT_STORE = "/generation/petstore-without-store.yaml";
+  // older than any generation run of the test
+  private static final FileTime UNCHANGED = FileTime.fromMillis(1_000_000_000_000L);
+
+  @Test
+  public void incrementalGenerationKeepsUnchangedFilesAndPrunesDeletedTags() throws Exception {
+    File output = temporaryFolder.newFolder("incremental");
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(CustomAngularGenerator.INCREMENTAL_GENERATION, true);
+
+    generate(SPEC, output, properties);
+    File petService = new File(output, "api/pet.service.ts");
+    File storeService = new File(output, "api/store.service.ts");
+    File order = new File(output, "model/order.ts");
+    assertTrue(petService.isFile());
+    assertTrue(storeService.isFile());
+    assertTrue(order.isFile());
+    Map<String, byte[]> firstRun = readTree(output);
+    for (String path : firstRun.keySet()) {
+      Files.setLastModifiedTime(new File(output, path).toPath(), UNCHANGED);
+    }
+
+    // same spec: nothing is rendered or written again
+    generate(SPEC, output, properties);
+    Map<String, byte[]> secondRun = readTree(output);
+    assertSameTree(firstRun, secondRun);
+    for (String path : secondRun.keySet()) {
+      if (path.startsWith("api/") || path.startsWith("model/")) {
+        assertEquals(path + " was written again", UNCHANGED, Files.getLastModifiedTime(new File(output, path).toPath()));
+      }
+    }
+
+    // the store tag and the Order schema are deleted
+    generate(SPEC_WITHOUT_STORE, output, properties);
+    assertFalse(storeService.exists());
+    assertFalse(order.exists());
+    assertEquals(UNCHANGED, Files.getLastModifiedTime(petService.toPath()));
+    assertEquals(UNCHANGED, Files.getLastModifiedTime(new File(output, "model/pet.ts").toPath()));
+  }
+}
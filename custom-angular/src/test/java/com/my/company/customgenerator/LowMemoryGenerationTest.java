@@ -0,0 +1,13 @@
+package com.my.company.customgenerator;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class LowMemoryGenerationTest extends AbstractGenerationTest {
+
+  @Test
+  public void lowMemoryGenerationWritesTheSameFilesAsNormalGeneration() throws Exception {
+    assertSameFilesWith(CustomAngularGenerator.LOW_MEMORY_GENERATION, Collections.emptyMap());
+  }
+}
@@ -0,0 +1,53 @@
+package com.my.company.customgenerator;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ModelBarrelsTest extends AbstractGenerationTest {
+
+  private static final String SPEC_WITHOUT_STORE = "/generation/petstore-without-store.yaml";
+
+  @Test
+  public void modelsUsedBySeveralTagsAreExportedByTheCommonBarrel() throws Exception {
+    File output = temporaryFolder.newFolder("barrels");
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(CustomAngularGenerator.MODEL_BARRELS_BY_TAG, true);
+    generate(SPEC, output, properties);
+
+    String store = read(barrel(output, "store"));
+    String pet = read(barrel(output, "pet"));
+    String common = read(barrel(output, ModelBarrels.COMMON));
+    assertTrue(store.contains("export * from './order';"));
+    assertTrue(store.contains("export * from './" + ModelBarrels.COMMON + CustomAngularGenerator.MODEL_BARREL_FILE_SUFFIX + "';"));
+    // the store orders reference the pets
+    assertTrue(common.contains("export * from './pet';"));
+    assertFalse(store.contains("export * from './pet';"));
+    assertFalse(pet.contains("export * from './order';"));
+  }
+
+  @Test
+  public void incrementalGenerationPrunesTheBarrelOfADeletedTag() throws Exception {
+    File output = temporaryFolder.newFolder("incremental");
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(CustomAngularGenerator.INCREMENTAL_GENERATION, true);
+    properties.put(CustomAngularGenerator.MODEL_BARRELS_BY_TAG, true);
+
+    generate(SPEC, output, properties);
+    assertTrue(barrel(output, "store").isFile());
+
+    generate(SPEC_WITHOUT_STORE, output, properties);
+    assertFalse(barrel(output, "store").exists());
+    assertTrue(barrel(output, "pet").isFile());
+    assertTrue(barrel(output, ModelBarrels.COMMON).isFile());
+  }
+
+  private static File barrel(File output, String name) {
+    return new File(output, "model/" + name + CustomAngularGenerator.MODEL_BARREL_FILE_SUFFIX + ".ts");
+  }
+}
@@ -0,0 +1,88 @@
+package com.my.company.customgenerator;
+
+import org.junit.Test;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ModelImportsTest extends AbstractGenerationTest {
+
+  @Test
+  public void modelImportsAreResolvedLikeTheirClassNames() throws Exception {
+    File output = temporaryFolder.newFolder("imports");
+    CodegenConfigurator configurator = newConfigurator(SPEC, output, Collections.emptyMap())
+            .setGeneratorName(ImportCheckingGenerator.class.getName());
+    ClientOptInput input = configurator.toClientOptInput();
+    new DefaultGenerator().opts(input).generate();
+
+    ImportCheckingGenerator generator = (ImportCheckingGenerator) input.getConfig();
+    assertTrue("no model was checked", generator.checkedModels > 0);
+    assertEquals(Collections.emptyList(), generator.mismatches);
+    String pet = read(new File(output, "model/pet.ts"));
+    assertTrue(pet.contains("import { Category } from './category';"));
+    assertTrue(pet.contains("import { Tag } from './tag';"));
+    assertFalse(pet.contains("import { Pet }"));
+  }
+
+  /**
+   * Compares the imports of every model with the ones resolved one by one from its class names, as they were
+   * resolved before the import index.
+   */
+  public static class ImportCheckingGenerator extends CustomAngularGenerator {
+    private final List<String> mismatches = new ArrayList<>();
+    private int checkedModels = 0;
+
+    @Override
+    public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+      Map<String, ModelsMap> result = super.postProcessAllModels(objs);
+      for (ModelsMap entry : result.values()) {
+        for (ModelMap mo : entry.getModels()) {
+          CodegenModel cm = mo.getModel();
+          Set<Map<String, Object>> expected = new HashSet<>();
+          for (String name : cm.imports) {
+            for (String im : name.split(" \\| ")) {
+              if (!im.equals(cm.classname)) {
+                expected.add(tsImport(im, toModelFilename(removeModelPrefixSuffix(im))));
+              }
+            }
+          }
+          Set<Map<String, Object>> actual = new HashSet<>();
+          if (mo.get("tsImports") instanceof List) {
+            for (Object tsImport : (List<?>) mo.get("tsImports")) {
+              Map<?, ?> resolved = (Map<?, ?>) tsImport;
+              actual.add(tsImport(resolved.get("classname"), resolved.get("filename")));
+            }
+          }
+          if (!expected.equals(actual)) {
+            mismatches.add(cm.classname + ": expected " + expected + " but was " + actual);
+          }
+          checkedModels++;
+        }
+      }
+      return result;
+    }
+
+    private static Map<String, Object> tsImport(Object classname, Object filename) {
+      Map<String, Object> tsImport = new HashMap<>();
+      tsImport.put("classname", classname);
+      tsImport.put("filename", filename);
+      return tsImport;
+    }
+  }
+}
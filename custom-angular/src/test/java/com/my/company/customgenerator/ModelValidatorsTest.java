@@ -0,0 +1,39 @@
+package com.my.company.customgenerator;
+
+import org.junit.Test;
+import org.openapitools.codegen.DefaultGenerator;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ModelValidatorsTest extends AbstractGenerationTest {
+
+  @Test
+  public void validatorsAreImportedWithTheirModels() throws Exception {
+    File output = temporaryFolder.newFolder("validators");
+    Map<String, Object> properties = Collections.singletonMap(CustomAngularGenerator.GENERATE_VALIDATORS, true);
+    // Tag is provided by a library, without validator
+    new DefaultGenerator().opts(newConfigurator(SPEC, output, properties)
+            .addImportMapping("Tag", "@my/tags")
+            .toClientOptInput()).generate();
+
+    String pet = read(new File(output, "model/pet.ts"));
+    assertTrue(pet.contains("import { Category, validateCategory } from './category';"));
+    assertTrue(pet.contains("import { Tag } from '@my/tags';"));
+    assertTrue(pet.contains("export function validatePet("));
+    assertFalse(pet.contains("validateTag"));
+    assertFalse(new File(output, "model/tag.ts").exists());
+    assertTrue(read(new File(output, "api/pet.service.ts")).contains(", validatePet }"));
+  }
+
+  @Test
+  public void lowMemoryGenerationWritesTheSameValidators() throws Exception {
+    Map<String, byte[]> files = assertSameFilesWith(CustomAngularGenerator.LOW_MEMORY_GENERATION,
+            Collections.singletonMap(CustomAngularGenerator.GENERATE_VALIDATORS, true));
+    assertTrue(files.containsKey("validation.ts"));
+  }
+}
@@ -0,0 +1,30 @@
+package com.my.company.customgenerator;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OfflineCacheTest extends AbstractGenerationTest {
+
+  @Test
+  public void storedResponsesAreKeyedWithoutTheCredentials() throws Exception {
+    File output = temporaryFolder.newFolder("offline");
+    generate("/generation/offline.yaml", output, Collections.singletonMap(CustomAngularGenerator.OFFLINE_CACHE, true));
+    String service = read(new File(output, "api/item.service.ts"));
+
+    String getItem = operationSource(service, "public getItem(");
+    assertTrue(getItem.contains("const localVarOfflineKey = ['get', `${this.configuration.basePath}${localVarPath}`, localVarQueryParameters.delete('api_key').toString(),"));
+    assertTrue(getItem.contains("localVarHeaders.keys().filter(localVarName => ['authorization', 'x-api-key'].indexOf(localVarName.toLowerCase()) === -1)"));
+    assertTrue(getItem.contains("this.configuration.offlineStore.cached(observe, 'ItemService.getItem', localVarOfflineKey, {}, "));
+    // neither coalesced nor cached in memory
+    assertFalse(getItem.contains("localVarRequestKey"));
+
+    String addItem = operationSource(service, "public addItem(");
+    assertFalse(addItem.contains("offlineStore.cached("));
+    assertTrue(addItem.contains("this.configuration.offlineStore.invalidate('ItemService')"));
+  }
+}
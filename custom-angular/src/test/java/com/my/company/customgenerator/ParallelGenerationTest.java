@@ -0,0 +1,23 @@
+package com.my.company.customgenerator;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ParallelGenerationTest extends AbstractGenerationTest {
+
+  @Test
+  public void parallelGenerationWritesTheSameFilesAsSequentialGeneration() throws Exception {
+    Map<String, Object> properties = new HashMap<>();
+    File sequential = temporaryFolder.newFolder("sequential");
+    generate(SPEC, sequential, properties);
+
+    properties.put(CustomAngularGenerator.GENERATOR_THREADS, "4");
+    File parallel = temporaryFolder.newFolder("parallel");
+    generate(SPEC, parallel, properties);
+
+    assertSameTree(readTree(sequential), readTree(parallel));
+  }
+}
@@ -0,0 +1,70 @@
+package com.my.company.customgenerator;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequestBatchingTest extends AbstractGenerationTest {
+
+  private static final String BATCH_SPEC = "/generation/batch.yaml";
+  private static final String[] INVALID_BATCHES = {
+          // unknown batch operation
+          "getPetByTag",
+          // batch operation without body
+          "getPetByName",
+          // batch operation with a required query parameter
+          "getPetByChip",
+          // two required parameters, none chosen
+          "getOwnedPet",
+          // array parameter
+          "findPet"
+  };
+
+  @Test
+  public void singleItemCallsAreEnqueuedInTheBatchOfTheirOperation() throws Exception {
+    String service = generateService(Collections.emptyMap(), "api/pet.service.ts");
+
+    String getPetById = operationSource(service, "public getPetById(");
+    assertTrue(getPetById.contains("if (observe === 'body' && !options && fields === undefined) {"));
+    assertTrue(getPetById.contains("return this.configuration.requestBatcher.enqueue<number, Pet>('PetService.getPetById', petId, {"));
+    // the trailing optional parameters of the batch operation are left out
+    assertTrue(getPetById.contains("send: localVarKeys => this.getPetsByIds(undefined, <any>{'ids': localVarKeys}),"));
+    assertTrue(getPetById.contains("results: localVarResponse => localVarResponse['pets'],"));
+    assertTrue(getPetById.contains("key: localVarResult => (<any>localVarResult)['id'],"));
+    assertTrue(new File(temporaryFolder.getRoot(), "batch/requestBatcher.ts").isFile());
+
+    for (String operation : INVALID_BATCHES) {
+      assertFalse(operation + " is batched", operationSource(service, "public " + operation + "(").contains("requestBatcher"));
+    }
+  }
+
+  @Test
+  public void batchOperationsAreCalledWithTheirSingleRequestParameter() throws Exception {
+    String service = generateService(Collections.singletonMap("useSingleRequestParameter", true), "api/pet.service.ts");
+
+    assertTrue(operationSource(service, "public getPetById(")
+            .contains("send: localVarKeys => this.getPetsByIds({ids: <any>{'ids': localVarKeys}}),"));
+  }
+
+  @Test
+  public void batchFunctionsAreCalledWithTheirContext() throws Exception {
+    String functions = generateService(Collections.singletonMap(CustomAngularGenerator.FUNCTIONAL_API, true), "api/pet.functions.ts");
+
+    assertTrue(operationSource(functions, "function getPetById(")
+            .contains("send: localVarKeys => getPetsByIds.call(this, undefined, <any>{'ids': localVarKeys}),"));
+    for (String operation : INVALID_BATCHES) {
+      assertFalse(operation + " is batched", operationSource(functions, "function " + operation + "(").contains("requestBatcher"));
+    }
+  }
+
+  private String generateService(Map<String, Object> properties, String path) throws Exception {
+    File output = temporaryFolder.newFolder("batch");
+    generate(BATCH_SPEC, output, properties);
+    return read(new File(output, path));
+  }
+}
@@ -0,0 +1,42 @@
+package com.my.company.customgenerator;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResiliencePolicyTest extends AbstractGenerationTest {
+
+  private static final String RESILIENCE_SPEC = "/generation/resilience.yaml";
+
+  @Test
+  public void operationPoliciesAreRenderedAsLiterals() throws Exception {
+    File output = temporaryFolder.newFolder("resilience");
+    generate(RESILIENCE_SPEC, output, Collections.singletonMap(CustomAngularGenerator.RESILIENCE, true));
+    String service = read(new File(output, "api/item.service.ts"));
+
+    // the policy of the Configuration
+    assertTrue(operationSource(service, "public listItems(")
+            .contains("this.configuration.resilience.execute('ItemService.listItems', 'get', undefined, "));
+    assertTrue(operationSource(service, "public replaceItems(")
+            .contains("this.configuration.resilience.execute('ItemService.replaceItems', 'put', {\"retry\":{\"maxRetries\":5},\"idempotent\":true}, "));
+    assertTrue(operationSource(service, "public addItem(")
+            .contains("this.configuration.resilience.execute('ItemService.addItem', 'post', {retry: false, circuitBreaker: false}, "));
+    // the invalid policies are reported and replaced by the policy of the Configuration
+    assertTrue(operationSource(service, "public getItem(")
+            .contains("this.configuration.resilience.execute('ItemService.getItem', 'get', undefined, "));
+    assertTrue(operationSource(service, "public deleteItem(")
+            .contains("this.configuration.resilience.execute('ItemService.deleteItem', 'delete', undefined, "));
+  }
+
+  @Test
+  public void operationPoliciesAreIgnoredWithoutResilience() throws Exception {
+    File output = temporaryFolder.newFolder("without-resilience");
+    generate(RESILIENCE_SPEC, output, Collections.emptyMap());
+
+    assertFalse(read(new File(output, "api/item.service.ts")).contains("resilience.execute("));
+  }
+}
@@ -0,0 +1,41 @@
+package com.my.company.customgenerator;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseCacheTest extends AbstractGenerationTest {
+
+  @Test
+  public void operationsWithAValidTtlAreCached() throws Exception {
+    File output = temporaryFolder.newFolder("response-cache");
+    generate("/generation/response-cache.yaml", output, Collections.singletonMap(CustomAngularGenerator.RESPONSE_CACHE, true));
+    String service = read(new File(output, "api/item.service.ts"));
+
+    String getItem = operationSource(service, "public getItem(");
+    assertTrue(getItem.contains("const localVarCacheGeneration = this.configuration.responseCache.generation('ItemService');"));
+    assertTrue(getItem.contains("this.configuration.responseCache.get(localVarRequestKey)"));
+    // in milliseconds
+    assertTrue(getItem.contains("this.configuration.responseCache.set('ItemService', localVarRequestKey, localVarBody, 1500, localVarCacheGeneration);"));
+
+    // an invalid ttl is reported and ignored
+    assertFalse(operationSource(service, "public listItems(").contains("responseCache"));
+    assertFalse(operationSource(service, "public getItemOwner(").contains("responseCache"));
+
+    assertTrue(operationSource(service, "public addItem(").contains("this.configuration.responseCache.invalidate('ItemService')"));
+    assertTrue(new File(output, "responseCache.ts").isFile());
+  }
+
+  @Test
+  public void theTtlIsIgnoredWithoutTheResponseCache() throws Exception {
+    File output = temporaryFolder.newFolder("without-response-cache");
+    generate("/generation/response-cache.yaml", output, Collections.emptyMap());
+
+    assertFalse(read(new File(output, "api/item.service.ts")).contains("responseCache"));
+    assertFalse(new File(output, "responseCache.ts").exists());
+  }
+}